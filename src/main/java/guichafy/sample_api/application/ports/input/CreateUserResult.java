@@ -0,0 +1,21 @@
+package guichafy.sample_api.application.ports.input;
+
+import guichafy.sample_api.domain.entities.User;
+
+/**
+ * Resultado de um item do cadastro em lote: o usuário criado ou o motivo da falha
+ */
+public record CreateUserResult(int index, User user, String error) {
+
+    public static CreateUserResult created(int index, User user) {
+        return new CreateUserResult(index, user, null);
+    }
+
+    public static CreateUserResult failed(int index, String error) {
+        return new CreateUserResult(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return user != null;
+    }
+}
@@ -0,0 +1,12 @@
+package guichafy.sample_api.application.ports.input;
+
+import java.util.List;
+
+public interface CreateUsersUseCase {
+
+    /**
+     * Cria os usuários em lote. Um item inválido não impede os demais;
+     * o resultado tem uma entrada por comando, na mesma ordem
+     */
+    List<CreateUserResult> createUsers(List<CreateUserCommand> commands);
+}
@@ -0,0 +1,10 @@
+package guichafy.sample_api.application.ports.input;
+
+import java.util.Map;
+
+public interface GetRouteTagFacetsUseCase {
+    /**
+     * Quantidade de rotas por tag entre as que atendem ao filtro, ignorando a paginação
+     */
+    Map<String, Long> getTagFacets(RouteFilter filter);
+}
@@ -6,4 +6,12 @@ import java.util.List;
 
 public interface GetRoutesUseCase {
     List<Route> getAllRoutes(RouteFilter filter);
+
+    /**
+     * Indica se listagens com cursor ({@link RouteFilter#afterRouteId()}) podem ser atendidas agora,
+     * na ordem de {@code RouteId}
+     */
+    default boolean supportsCursorPagination() {
+        return true;
+    }
 }
\ No newline at end of file
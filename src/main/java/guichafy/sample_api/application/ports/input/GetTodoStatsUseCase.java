@@ -0,0 +1,11 @@
+package guichafy.sample_api.application.ports.input;
+
+import java.util.List;
+
+public interface GetTodoStatsUseCase {
+
+    /**
+     * Total e concluídos por usuário, ordenado por userId
+     */
+    List<TodoStats> getTodoStats();
+}
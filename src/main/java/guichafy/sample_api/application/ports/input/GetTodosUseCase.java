@@ -6,4 +6,6 @@ import java.util.List;
 
 public interface GetTodosUseCase {
     List<Todo> getTodos();
+
+    List<Todo> getTodos(TodoFilter filter);
 }
@@ -0,0 +1,163 @@
+package guichafy.sample_api.application.ports.input;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Prazo de uma requisição, definido na entrada (controller) e válido para todo o trabalho feito em seu nome.
+ * <p>
+ * O prazo fica associado à thread enquanto {@link #call} executa; {@link #propagate} o leva para as
+ * tarefas submetidas a outros executores. Além de expirar, o prazo pode ser cancelado (ex.: cliente
+ * desconectou), o que dispara os callbacks registrados em {@link #onCancel}.
+ * Sem prazo associado, {@link #current()} devolve um prazo sem limite que nunca é cancelado.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+    private static final RequestDeadline NONE = new RequestDeadline(Long.MAX_VALUE, false);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private final CompletableFuture<Void> cancellation = new CompletableFuture<>();
+
+    private RequestDeadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Prazo que expira depois do orçamento informado, contado a partir de agora
+     */
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    /**
+     * Sem limite de tempo, mas cancelável (ex.: respostas em streaming)
+     */
+    public static RequestDeadline unbounded() {
+        return new RequestDeadline(Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Prazo associado à thread atual
+     */
+    public static RequestDeadline current() {
+        RequestDeadline deadline = CURRENT.get();
+        return deadline != null ? deadline : NONE;
+    }
+
+    /**
+     * Captura o prazo da thread atual para que a tarefa o enxergue quando rodar em outra thread
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestDeadline deadline = current();
+        return deadline == NONE ? task : () -> deadline.call(task);
+    }
+
+    /**
+     * Executa a tarefa sem prazo associado. Para trabalho compartilhado entre requisições (cache,
+     * chamadas coalescidas), que não pode herdar o prazo de quem chegou primeiro
+     */
+    public static <T> T detached(Supplier<T> task) {
+        return NONE.call(task);
+    }
+
+    /**
+     * Executa a tarefa com este prazo associado à thread atual
+     */
+    public <T> T call(Supplier<T> task) {
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public boolean bounded() {
+        return bounded;
+    }
+
+    /**
+     * Tempo restante; Long.MAX_VALUE quando não há limite
+     */
+    public long remainingNanos() {
+        return bounded ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    public boolean expired() {
+        return bounded && remainingNanos() <= 0;
+    }
+
+    /**
+     * Falha com {@link DeadlineExceededException} se o prazo já expirou
+     */
+    public void checkExpired(String operation) {
+        if (expired()) {
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    /**
+     * Cancela o trabalho feito em nome da requisição. Não tem efeito sobre o prazo vazio de {@link #current()}
+     */
+    public void cancel() {
+        if (this != NONE) {
+            cancellation.complete(null);
+        }
+    }
+
+    public boolean cancelled() {
+        return cancellation.isDone();
+    }
+
+    /**
+     * Registra uma ação para o cancelamento; roda na hora se o prazo já foi cancelado.
+     * No prazo vazio de {@link #current()}, que nunca é cancelado, a ação é ignorada
+     */
+    public void onCancel(Runnable action) {
+        if (this != NONE) {
+            cancellation.thenRun(action);
+        }
+    }
+
+    /**
+     * Espera o resultado pelo tempo restante. Ao expirar, falha com {@link DeadlineExceededException};
+     * o future não é cancelado aqui, isso fica a cargo de quem o criou
+     */
+    public <T> T await(Future<T> future, String operation) throws InterruptedException, ExecutionException {
+        if (cancelled()) {
+            throw new CancellationException("Request cancelled: " + operation);
+        }
+        if (!bounded) {
+            return future.get();
+        }
+        try {
+            return future.get(Math.max(0, remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    /**
+     * O prazo da requisição expirou antes de a operação terminar
+     */
+    public static class DeadlineExceededException extends RuntimeException {
+
+        public DeadlineExceededException(String operation) {
+            super("Request deadline exceeded: " + operation);
+        }
+    }
+}
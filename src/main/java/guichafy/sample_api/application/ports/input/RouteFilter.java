@@ -5,10 +5,12 @@ import java.util.List;
 public record RouteFilter(
     String method,
     List<String> tags,
+    TagMatchMode tagMatch,
     Boolean isActive,
     String pathContains,
     Integer page,
-    Integer size
+    Integer size,
+    String afterRouteId
 ) {
     public RouteFilter {
         if (page != null && page < 0) {
@@ -17,6 +19,18 @@ public record RouteFilter(
         if (size != null && size <= 0) {
             throw new IllegalArgumentException("Size must be positive");
         }
+        if (tagMatch == null) {
+            tagMatch = TagMatchMode.ANY;
+        }
+    }
+
+    public RouteFilter(String method, List<String> tags, Boolean isActive, String pathContains, Integer page, Integer size) {
+        this(method, tags, TagMatchMode.ANY, isActive, pathContains, page, size, null);
+    }
+
+    public RouteFilter(String method, List<String> tags, TagMatchMode tagMatch, Boolean isActive, String pathContains,
+                       Integer page, Integer size) {
+        this(method, tags, tagMatch, isActive, pathContains, page, size, null);
     }
 
     public static RouteFilter empty() {
@@ -28,18 +42,49 @@ public record RouteFilter(
     }
 
     public RouteFilter withMethod(String method) {
-        return new RouteFilter(method, tags, isActive, pathContains, page, size);
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, page, size, afterRouteId);
     }
 
     public RouteFilter withTags(List<String> tags) {
-        return new RouteFilter(method, tags, isActive, pathContains, page, size);
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, page, size, afterRouteId);
+    }
+
+    public RouteFilter withTags(List<String> tags, TagMatchMode tagMatch) {
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, page, size, afterRouteId);
     }
 
     public RouteFilter withActiveStatus(Boolean isActive) {
-        return new RouteFilter(method, tags, isActive, pathContains, page, size);
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, page, size, afterRouteId);
     }
 
     public RouteFilter withPathContains(String pathContains) {
-        return new RouteFilter(method, tags, isActive, pathContains, page, size);
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, page, size, afterRouteId);
+    }
+
+    /**
+     * Mesmo filtro sem paginação nem cursor, para operações sobre o conjunto inteiro (ex.: facetas)
+     */
+    public RouteFilter withoutPagination() {
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, null, null, null);
+    }
+
+    /**
+     * Mesmo filtro em outra página, sem cursor
+     */
+    public RouteFilter atPage(int page, int size) {
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, page, size, null);
+    }
+
+    /**
+     * Paginação por chave (keyset): a página começa na primeira rota com ID maior que {@code afterRouteId},
+     * na ordem de {@code RouteId}. O custo da página não depende da profundidade e as páginas não se
+     * deslocam quando rotas são incluídas ou removidas entre uma requisição e outra
+     */
+    public RouteFilter after(String afterRouteId) {
+        return new RouteFilter(method, tags, tagMatch, isActive, pathContains, page, size, afterRouteId);
+    }
+
+    public boolean hasTags() {
+        return tags != null && !tags.isEmpty();
     }
-}
\ No newline at end of file
+}
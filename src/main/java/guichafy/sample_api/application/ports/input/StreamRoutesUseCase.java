@@ -0,0 +1,14 @@
+package guichafy.sample_api.application.ports.input;
+
+import guichafy.sample_api.domain.entities.Route;
+
+import java.util.function.Consumer;
+
+public interface StreamRoutesUseCase {
+
+    /**
+     * Entrega cada rota ao consumer assim que o seu status é resolvido, sem esperar a lista inteira.
+     * O consumer é chamado por uma thread de cada vez
+     */
+    void streamAllRoutes(RouteFilter filter, Consumer<Route> consumer);
+}
@@ -0,0 +1,32 @@
+package guichafy.sample_api.application.ports.input;
+
+import java.util.Locale;
+
+/**
+ * Semântica do filtro por tags de {@link RouteFilter}
+ */
+public enum TagMatchMode {
+    /**
+     * A rota tem pelo menos uma das tags (OR)
+     */
+    ANY,
+    /**
+     * A rota tem todas as tags (AND)
+     */
+    ALL,
+    /**
+     * A rota não tem nenhuma das tags (NOT)
+     */
+    NONE;
+
+    public static TagMatchMode fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return ANY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid tag match mode: " + value + " (expected any, all or none)");
+        }
+    }
+}
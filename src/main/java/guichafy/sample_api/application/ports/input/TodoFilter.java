@@ -0,0 +1,56 @@
+package guichafy.sample_api.application.ports.input;
+
+import guichafy.sample_api.domain.entities.Todo;
+
+import java.util.Locale;
+
+/**
+ * Filtros da listagem de todos. O prefixo de título não diferencia maiúsculas de minúsculas.
+ * Sem {@code size}, a listagem traz todos os resultados a partir da página informada
+ */
+public record TodoFilter(
+    Long userId,
+    Boolean completed,
+    String titlePrefix,
+    Integer page,
+    Integer size
+) {
+    public TodoFilter {
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        if (size != null && size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+    }
+
+    public static TodoFilter empty() {
+        return new TodoFilter(null, null, null, null, null);
+    }
+
+    public static TodoFilter withPagination(int page, int size) {
+        return new TodoFilter(null, null, null, page, size);
+    }
+
+    public TodoFilter withUserId(Long userId) {
+        return new TodoFilter(userId, completed, titlePrefix, page, size);
+    }
+
+    public TodoFilter withCompleted(Boolean completed) {
+        return new TodoFilter(userId, completed, titlePrefix, page, size);
+    }
+
+    public TodoFilter withTitlePrefix(String titlePrefix) {
+        return new TodoFilter(userId, completed, titlePrefix, page, size);
+    }
+
+    public long offset() {
+        return page != null && size != null ? (long) page * size : 0;
+    }
+
+    public boolean matches(Todo todo) {
+        return (userId == null || userId.equals(todo.userId()))
+            && (completed == null || completed == todo.completed())
+            && (titlePrefix == null || todo.title().toLowerCase(Locale.ROOT).startsWith(titlePrefix.toLowerCase(Locale.ROOT)));
+    }
+}
@@ -0,0 +1,11 @@
+package guichafy.sample_api.application.ports.input;
+
+/**
+ * Contagem de todos de um usuário
+ */
+public record TodoStats(Long userId, long total, long completed) {
+
+    public long pending() {
+        return total - completed;
+    }
+}
@@ -4,9 +4,12 @@ import guichafy.sample_api.application.ports.input.RouteFilter;
 import guichafy.sample_api.domain.entities.Route;
 import guichafy.sample_api.domain.valueobjects.RouteId;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface RouteApiPort {
     
@@ -20,13 +23,44 @@ public interface RouteApiPort {
      */
     CompletableFuture<List<Route>> findAllRoutesAsync(RouteFilter filter);
     
+    /**
+     * Busca as rotas com filtros entregando cada uma ao consumer assim que é lida, sem montar a lista inteira.
+     * Diferente de {@link #findAllRoutesAsync}, falhas completam o future com erro
+     */
+    CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer);
+    
     /**
      * Busca metadados adicionais de uma rota de forma assíncrona
      */
     CompletableFuture<Optional<Route>> enrichRouteMetadataAsync(Route route);
     
+    /**
+     * Busca apenas os metadados adicionais de uma rota pelo ID, permitindo buscá-los em paralelo
+     * com a própria rota. Retorna um mapa vazio quando não há metadados
+     */
+    CompletableFuture<Map<String, Object>> findRouteMetadataAsync(RouteId routeId);
+    
     /**
      * Verifica se uma rota está ativa no sistema externo
      */
     CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId);
+    
+    /**
+     * Verifica o status de várias rotas de uma vez. O mapa retornado contém todas as rotas informadas
+     */
+    CompletableFuture<Map<RouteId, Boolean>> areRoutesActiveAsync(Collection<RouteId> routeIds);
+    
+    /**
+     * Conta as rotas por tag entre as que atendem ao filtro, ignorando a paginação.
+     * O mapa vem ordenado da tag mais frequente para a menos frequente
+     */
+    CompletableFuture<Map<String, Long>> tagFacetsAsync(RouteFilter filter);
+
+    /**
+     * Indica se as listagens aceitam cursor, com as rotas na ordem de {@code RouteId}.
+     * Quando não aceitam, uma listagem com cursor completa o future com erro
+     */
+    default boolean supportsCursorPagination() {
+        return true;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,34 @@
 package guichafy.sample_api.application.ports.output;
 
+import guichafy.sample_api.application.ports.input.TodoFilter;
+import guichafy.sample_api.application.ports.input.TodoStats;
 import guichafy.sample_api.domain.entities.Todo;
 import guichafy.sample_api.domain.valueobjects.TodoId;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TodoApiPort {
 
     List<Todo> findAllTodos();
 
+    /**
+     * Entrega cada todo da coleção completa assim que é lido, sem montar a lista inteira
+     */
+    default void forEachTodo(Consumer<Todo> consumer) {
+        findAllTodos().forEach(consumer);
+    }
+
+    /**
+     * Busca os todos que atendem ao filtro, já paginados
+     */
+    List<Todo> findTodos(TodoFilter filter);
+
     Optional<Todo> findTodoById(TodoId todoId);
+
+    /**
+     * Total e concluídos por usuário, ordenado por userId
+     */
+    List<TodoStats> todoStatsByUser();
 }
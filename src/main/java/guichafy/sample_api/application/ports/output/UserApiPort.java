@@ -3,7 +3,10 @@ package guichafy.sample_api.application.ports.output;
 import guichafy.sample_api.domain.entities.User;
 import guichafy.sample_api.domain.valueobjects.UserId;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserApiPort {
     
@@ -14,4 +17,21 @@ public interface UserApiPort {
     void notifyUserCreated(User user);
     
     boolean emailExists(String email);
+
+    /**
+     * Quais dos emails já estão cadastrados, normalizados em minúsculas, em uma única verificação
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Salva um lote de usuários de uma vez
+     */
+    List<User> saveUsers(List<User> users);
+
+    void notifyUsersCreated(List<User> users);
+
+    /**
+     * Emails dos usuários cadastrados, em páginas na ordem da API
+     */
+    List<String> findEmails(int offset, int limit);
 }
\ No newline at end of file
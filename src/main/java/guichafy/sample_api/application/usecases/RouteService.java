@@ -1,20 +1,31 @@
 package guichafy.sample_api.application.usecases;
 
+import guichafy.sample_api.application.ports.input.GetRouteTagFacetsUseCase;
 import guichafy.sample_api.application.ports.input.GetRouteUseCase;
 import guichafy.sample_api.application.ports.input.GetRoutesUseCase;
+import guichafy.sample_api.application.ports.input.RequestDeadline;
 import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.input.StreamRoutesUseCase;
 import guichafy.sample_api.application.ports.output.RouteApiPort;
 import guichafy.sample_api.domain.entities.Route;
 import guichafy.sample_api.domain.valueobjects.RouteId;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
-public class RouteService implements GetRouteUseCase, GetRoutesUseCase {
+public class RouteService implements GetRouteUseCase, GetRoutesUseCase, StreamRoutesUseCase, GetRouteTagFacetsUseCase {
 
     private final RouteApiPort routeApiPort;
 
@@ -22,77 +33,201 @@ public class RouteService implements GetRouteUseCase, GetRoutesUseCase {
         this.routeApiPort = routeApiPort;
     }
 
+    /**
+     * As três chamadas são irmãs: se o prazo expirar, a requisição for cancelada ou uma delas falhar,
+     * as demais são canceladas, junto com as chamadas HTTP em andamento
+     */
     @Override
     public Optional<Route> getRouteById(RouteId routeId) {
+        RequestDeadline deadline = RequestDeadline.current();
+
+        // Busca a rota, o status e os metadados em paralelo: nenhuma das chamadas depende das outras
+        CompletableFuture<Optional<Route>> routeFuture = routeApiPort.findRouteByIdAsync(routeId);
+        CompletableFuture<Boolean> activeFuture = routeApiPort.isRouteActiveAsync(routeId);
+        CompletableFuture<Map<String, Object>> metadataFuture = routeApiPort.findRouteMetadataAsync(routeId);
+        Runnable cancelAll = () -> cancel(routeFuture, activeFuture, metadataFuture);
+        deadline.onCancel(cancelAll);
+
         try {
-            // Busca a rota básica
-            CompletableFuture<Optional<Route>> routeFuture = routeApiPort.findRouteByIdAsync(routeId);
-            
-            // Verifica se está ativa em paralelo
-            CompletableFuture<Boolean> activeFuture = routeApiPort.isRouteActiveAsync(routeId);
-            
-            // Aguarda ambas as operações
-            Optional<Route> routeOpt = routeFuture.get();
-            Boolean isActive = activeFuture.get();
-            
+            Optional<Route> routeOpt = deadline.await(routeFuture, "route " + routeId);
             if (routeOpt.isEmpty()) {
+                cancelAll.run();
+                deadline.checkExpired("route " + routeId);
                 return Optional.empty();
             }
-            
+
+            Boolean isActive = deadline.await(activeFuture, "route status " + routeId);
             Route route = routeOpt.get();
-            
+
             // Se o status de ativo for diferente, atualiza
-            if (route.isActive() != isActive) {
-                route = route.withActiveStatus(isActive);
-            }
-            
-            // Enriquece com metadados adicionais de forma assíncrona
-            CompletableFuture<Optional<Route>> enrichedFuture = routeApiPort.enrichRouteMetadataAsync(route);
-            Optional<Route> enrichedRoute = enrichedFuture.get();
-            
-            return enrichedRoute.isPresent() ? enrichedRoute : Optional.of(route);
-            
-        } catch (InterruptedException | ExecutionException e) {
+            route = route.withResolvedActiveStatus(isActive);
+
+            // Combina os metadados adicionais, se houver
+            Map<String, Object> metadata = deadline.await(metadataFuture, "route metadata " + routeId);
+            // Respostas de fallback que chegaram depois do prazo não são confiáveis
+            deadline.checkExpired("route " + routeId);
+            return Optional.of(route.withAdditionalMetadata(metadata));
+
+        } catch (RuntimeException e) {
+            cancelAll.run();
+            throw e;
+        } catch (InterruptedException e) {
+            cancelAll.run();
             Thread.currentThread().interrupt();
             throw new RuntimeException("Error fetching route: " + routeId, e);
+        } catch (ExecutionException e) {
+            cancelAll.run();
+            throw new RuntimeException("Error fetching route: " + routeId, e);
         }
     }
 
+    @Override
+    public boolean supportsCursorPagination() {
+        return routeApiPort.supportsCursorPagination();
+    }
+
     @Override
     public List<Route> getAllRoutes(RouteFilter filter) {
+        RequestDeadline deadline = RequestDeadline.current();
+        Queue<CompletableFuture<?>> pending = new ConcurrentLinkedQueue<>();
+        deadline.onCancel(() -> cancel(pending));
+
         try {
             // Busca todas as rotas com filtros de forma assíncrona
             CompletableFuture<List<Route>> routesFuture = routeApiPort.findAllRoutesAsync(filter);
-            List<Route> routes = routesFuture.get();
-            
-            // Para cada rota, verifica status ativo em paralelo usando Virtual Threads
-            List<CompletableFuture<Route>> enrichmentFutures = routes.stream()
-                .map(route -> 
-                    routeApiPort.isRouteActiveAsync(route.id())
-                        .thenApply(isActive -> {
-                            if (route.isActive() != isActive) {
-                                return route.withActiveStatus(isActive);
-                            }
-                            return route;
-                        })
-                )
+            pending.add(routesFuture);
+            List<Route> routes = deadline.await(routesFuture, "routes");
+
+            // Verifica o status de todas as rotas da página com uma única consulta em lote
+            List<RouteId> routeIds = routes.stream()
+                .map(Route::id)
                 .toList();
-            
-            // Aguarda todas as verificações de status
-            CompletableFuture<Void> allFutures = CompletableFuture.allOf(
-                enrichmentFutures.toArray(new CompletableFuture[0])
-            );
-            
-            allFutures.get();
-            
-            // Coleta os resultados
-            return enrichmentFutures.stream()
-                .map(CompletableFuture::join)
+            CompletableFuture<Map<RouteId, Boolean>> statusesFuture = routeApiPort.areRoutesActiveAsync(routeIds);
+            pending.add(statusesFuture);
+            Map<RouteId, Boolean> statuses = deadline.await(statusesFuture, "route statuses");
+            deadline.checkExpired("routes");
+
+            return routes.stream()
+                .map(route -> {
+                    Boolean isActive = statuses.get(route.id());
+                    return isActive != null ? route.withResolvedActiveStatus(isActive) : route;
+                })
                 .toList();
-                
-        } catch (InterruptedException | ExecutionException e) {
+
+        } catch (RuntimeException e) {
+            cancel(pending);
+            throw e;
+        } catch (InterruptedException e) {
+            cancel(pending);
             Thread.currentThread().interrupt();
             throw new RuntimeException("Error fetching routes with filter: " + filter, e);
+        } catch (ExecutionException e) {
+            cancel(pending);
+            throw new RuntimeException("Error fetching routes with filter: " + filter, e);
+        }
+    }
+
+    /**
+     * O streaming não tem prazo, mas o cancelamento da requisição (cliente desconectou) interrompe
+     * a leitura das rotas e as verificações de status pendentes.
+     * <p>
+     * As rotas resolvidas passam por uma fila e são escritas pela própria thread da requisição: a escrita
+     * no cliente não roda na thread que completa o lote de status, onde um cliente lento atrasaria as
+     * demais requisições do lote
+     */
+    @Override
+    public void streamAllRoutes(RouteFilter filter, Consumer<Route> consumer) {
+        RequestDeadline deadline = RequestDeadline.current();
+        // Optional.empty() marca o fim: todas as rotas foram entregues ou alguma etapa falhou
+        BlockingQueue<Optional<Route>> resolved = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        Queue<CompletableFuture<?>> pending = new ConcurrentLinkedQueue<>();
+        deadline.onCancel(() -> cancel(pending));
+
+        try {
+            // Cada rota lida dispara a verificação de status; a rota entra na fila assim que o status chega
+            CompletableFuture<Void> stream = routeApiPort.streamAllRoutesAsync(filter, route -> pending.add(
+                failFast(routeApiPort.isRouteActiveAsync(route.id())
+                    .thenAccept(isActive -> resolved.add(Optional.of(route.withResolvedActiveStatus(isActive)))),
+                    firstFailure)
+            ));
+            pending.add(failFast(stream, firstFailure));
+
+            // Interrompe na primeira falha (ex.: cliente desconectou) em vez de esperar as demais rotas
+            CompletableFuture<Object> finished = CompletableFuture.anyOf(
+                stream.thenCompose(ignored -> CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))),
+                firstFailure
+            );
+            finished.whenComplete((ignored, error) -> resolved.add(Optional.empty()));
+
+            Optional<Route> next;
+            while ((next = take(resolved, deadline)).isPresent()) {
+                consumer.accept(next.get());
+            }
+            deadline.await(finished, "route stream");
+
+        } catch (RuntimeException e) {
+            cancel(pending);
+            throw e;
+        } catch (InterruptedException e) {
+            cancel(pending);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error streaming routes with filter: " + filter, e);
+        } catch (ExecutionException e) {
+            cancel(pending);
+            throw new RuntimeException("Error streaming routes with filter: " + filter, e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getTagFacets(RouteFilter filter) {
+        RequestDeadline deadline = RequestDeadline.current();
+        CompletableFuture<Map<String, Long>> facetsFuture = routeApiPort.tagFacetsAsync(filter.withoutPagination());
+        deadline.onCancel(() -> facetsFuture.cancel(true));
+        try {
+            Map<String, Long> facets = deadline.await(facetsFuture, "tag facets");
+            deadline.checkExpired("tag facets");
+            return facets;
+        } catch (RuntimeException e) {
+            facetsFuture.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            facetsFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error fetching tag facets with filter: " + filter, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error fetching tag facets with filter: " + filter, e);
         }
     }
-}
\ No newline at end of file
+
+    private static <T> CompletableFuture<T> failFast(CompletableFuture<T> future, CompletableFuture<Void> firstFailure) {
+        future.whenComplete((ignored, error) -> {
+            if (error != null) {
+                firstFailure.completeExceptionally(error);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Próxima rota da fila, esperando no máximo pelo tempo restante do prazo
+     */
+    private static Optional<Route> take(BlockingQueue<Optional<Route>> queue, RequestDeadline deadline)
+            throws InterruptedException {
+        Optional<Route> next = queue.poll(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        if (next == null) {
+            throw new RequestDeadline.DeadlineExceededException("route stream");
+        }
+        return next;
+    }
+
+    private static void cancel(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static void cancel(Collection<CompletableFuture<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
@@ -1,7 +1,10 @@
 package guichafy.sample_api.application.usecases;
 
+import guichafy.sample_api.application.ports.input.GetTodoStatsUseCase;
 import guichafy.sample_api.application.ports.input.GetTodoUseCase;
 import guichafy.sample_api.application.ports.input.GetTodosUseCase;
+import guichafy.sample_api.application.ports.input.TodoFilter;
+import guichafy.sample_api.application.ports.input.TodoStats;
 import guichafy.sample_api.application.ports.output.TodoApiPort;
 import guichafy.sample_api.domain.entities.Todo;
 import guichafy.sample_api.domain.valueobjects.TodoId;
@@ -9,7 +12,7 @@ import guichafy.sample_api.domain.valueobjects.TodoId;
 import java.util.List;
 import java.util.Optional;
 
-public class TodoService implements GetTodoUseCase, GetTodosUseCase {
+public class TodoService implements GetTodoUseCase, GetTodosUseCase, GetTodoStatsUseCase {
 
     private final TodoApiPort todoApiPort;
 
@@ -26,4 +29,14 @@ public class TodoService implements GetTodoUseCase, GetTodosUseCase {
     public List<Todo> getTodos() {
         return todoApiPort.findAllTodos();
     }
+
+    @Override
+    public List<Todo> getTodos(TodoFilter filter) {
+        return todoApiPort.findTodos(filter);
+    }
+
+    @Override
+    public List<TodoStats> getTodoStats() {
+        return todoApiPort.todoStatsByUser();
+    }
 }
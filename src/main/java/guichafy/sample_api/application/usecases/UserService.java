@@ -1,7 +1,9 @@
 package guichafy.sample_api.application.usecases;
 
 import guichafy.sample_api.application.ports.input.CreateUserCommand;
+import guichafy.sample_api.application.ports.input.CreateUserResult;
 import guichafy.sample_api.application.ports.input.CreateUserUseCase;
+import guichafy.sample_api.application.ports.input.CreateUsersUseCase;
 import guichafy.sample_api.application.ports.input.GetUserUseCase;
 import guichafy.sample_api.application.ports.output.UserApiPort;
 import guichafy.sample_api.domain.entities.User;
@@ -9,14 +11,31 @@ import guichafy.sample_api.domain.valueobjects.Email;
 import guichafy.sample_api.domain.valueobjects.UserId;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
-public class UserService implements CreateUserUseCase, GetUserUseCase {
+public class UserService implements CreateUserUseCase, CreateUsersUseCase, GetUserUseCase {
+
+    private static final int DEFAULT_BULK_CHUNK_SIZE = 500;
 
     private final UserApiPort userApiPort;
+    private final int bulkChunkSize;
 
     public UserService(UserApiPort userApiPort) {
+        this(userApiPort, DEFAULT_BULK_CHUNK_SIZE);
+    }
+
+    public UserService(UserApiPort userApiPort, int bulkChunkSize) {
+        if (bulkChunkSize <= 0) {
+            throw new IllegalArgumentException("Bulk chunk size must be positive");
+        }
         this.userApiPort = userApiPort;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     @Override
@@ -41,6 +60,72 @@ public class UserService implements CreateUserUseCase, GetUserUseCase {
         return savedUser;
     }
 
+    /**
+     * Valida todos os itens em paralelo, verifica duplicidade (no lote e já cadastrados) em uma
+     * única consulta e salva em blocos. A primeira ocorrência de um email no lote prevalece
+     */
+    @Override
+    public List<CreateUserResult> createUsers(List<CreateUserCommand> commands) {
+        CreateUserResult[] results = new CreateUserResult[commands.size()];
+        User[] candidates = new User[commands.size()];
+
+        IntStream.range(0, commands.size()).parallel().forEach(index -> {
+            CreateUserCommand command = commands.get(index);
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                candidates[index] = new User(UserId.generate(), command.name(), Email.of(command.email()), now, now);
+            } catch (IllegalArgumentException e) {
+                results[index] = CreateUserResult.failed(index, e.getMessage());
+            }
+        });
+
+        Set<String> seen = new HashSet<>();
+        for (int index = 0; index < candidates.length; index++) {
+            if (candidates[index] != null && !seen.add(candidates[index].email().value())) {
+                candidates[index] = null;
+                results[index] = CreateUserResult.failed(index, "Duplicate email in batch");
+            }
+        }
+
+        Set<String> existing = seen.isEmpty() ? Set.of() : userApiPort.findExistingEmails(seen);
+        List<Integer> pending = new ArrayList<>(seen.size());
+        for (int index = 0; index < candidates.length; index++) {
+            if (candidates[index] == null) {
+                continue;
+            }
+            if (existing.contains(candidates[index].email().value())) {
+                results[index] = CreateUserResult.failed(index, "User with email already exists");
+            } else {
+                pending.add(index);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += bulkChunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(pending.size(), from + bulkChunkSize));
+            List<User> users = chunk.stream().map(index -> candidates[index]).toList();
+            List<User> savedUsers;
+            try {
+                savedUsers = userApiPort.saveUsers(users);
+            } catch (Exception e) {
+                // O bloco inteiro falha; os demais seguem
+                System.err.println("Error saving user chunk of " + chunk.size() + " users: " + e.getMessage());
+                chunk.forEach(index -> results[index] = CreateUserResult.failed(index, "Error saving user"));
+                continue;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = CreateUserResult.created(chunk.get(i), savedUsers.get(i));
+            }
+            try {
+                userApiPort.notifyUsersCreated(savedUsers);
+            } catch (Exception e) {
+                // Os usuários já foram salvos: a falha da notificação não muda o resultado dos itens
+                System.err.println("Error notifying " + savedUsers.size() + " created users: " + e.getMessage());
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
     @Override
     public Optional<User> getUserById(UserId userId) {
         return userApiPort.findUserById(userId);
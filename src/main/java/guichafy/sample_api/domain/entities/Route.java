@@ -3,6 +3,7 @@ package guichafy.sample_api.domain.entities;
 import guichafy.sample_api.domain.valueobjects.RouteId;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -34,10 +35,32 @@ public record Route(
         return new Route(id, path, name, description, method, tags, newMetadata, isActive, createdAt, LocalDateTime.now());
     }
 
+    /**
+     * Combina metadados obtidos na leitura, sem alterar updatedAt: a rota em si não mudou
+     */
+    public Route withAdditionalMetadata(Map<String, Object> additionalMetadata) {
+        if (additionalMetadata == null || additionalMetadata.isEmpty()) {
+            return this;
+        }
+        Map<String, Object> combinedMetadata = new HashMap<>(metadata);
+        combinedMetadata.putAll(additionalMetadata);
+        return new Route(id, path, name, description, method, tags, combinedMetadata, isActive, createdAt, updatedAt);
+    }
+
     public Route withActiveStatus(boolean active) {
         return new Route(id, path, name, description, method, tags, metadata, active, createdAt, LocalDateTime.now());
     }
 
+    /**
+     * Aplica o status consultado na API externa no momento da leitura, sem alterar updatedAt
+     */
+    public Route withResolvedActiveStatus(boolean active) {
+        if (active == isActive) {
+            return this;
+        }
+        return new Route(id, path, name, description, method, tags, metadata, active, createdAt, updatedAt);
+    }
+
     public Route withUpdatedDescription(String newDescription) {
         return new Route(id, path, name, newDescription, method, tags, metadata, isActive, createdAt, LocalDateTime.now());
     }
@@ -0,0 +1,14 @@
+package guichafy.sample_api.infrastructure.adapters.input.web;
+
+import guichafy.sample_api.application.ports.input.CreateUserResult;
+
+public record CreateUserResultResponse(int index, boolean created, UserResponse user, String error) {
+    public static CreateUserResultResponse fromResult(CreateUserResult result) {
+        return new CreateUserResultResponse(
+            result.index(),
+            result.isCreated(),
+            result.isCreated() ? UserResponse.fromUser(result.user()) : null,
+            result.error()
+        );
+    }
+}
@@ -0,0 +1,143 @@
+package guichafy.sample_api.infrastructure.adapters.input.web;
+
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.entities.Todo;
+import guichafy.sample_api.domain.entities.User;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ETags fortes calculados a partir dos campos de domínio que vão para a resposta, sem serializar o JSON,
+ * ou dos bytes já serializados quando eles vêm prontos do {@link RouteJsonWriter} (rota única).
+ * <p>
+ * Com o ETag (e, para recursos únicos, o Last-Modified) no {@code ResponseEntity}, o Spring compara
+ * If-None-Match/If-Modified-Since antes de escrever o corpo e responde 304 sem passar pelo Jackson
+ */
+final class ETags {
+
+    private static final byte SEPARATOR = 0x1F;
+
+    private ETags() {
+    }
+
+    /**
+     * ETag do próprio conteúdo já serializado, usado quando os bytes vêm prontos do cache de JSON
+     */
+    static String ofContent(byte[] content) {
+        return new Digest().add(content).etag();
+    }
+
+    static String ofTodo(Todo todo) {
+        Digest digest = new Digest();
+        addTodo(digest, todo);
+        return digest.etag();
+    }
+
+    static String ofTodos(Collection<Todo> todos) {
+        Digest digest = new Digest();
+        digest.add(todos.size());
+        todos.forEach(todo -> addTodo(digest, todo));
+        return digest.etag();
+    }
+
+    /**
+     * ETag de uma página de rotas a partir de todos os campos que vão para o JSON, para que o
+     * If-None-Match seja verificado antes de montar o array
+     */
+    static String ofRoutes(List<Route> routes) {
+        Digest digest = new Digest();
+        digest.add(routes.size());
+        for (Route route : routes) {
+            digest.add(route.id().value())
+                .add(route.path())
+                .add(route.name())
+                .add(route.description())
+                .add(route.method())
+                .add(route.tags())
+                .add(route.metadata())
+                .add(route.isActive())
+                .add(route.createdAt())
+                .add(route.updatedAt());
+        }
+        return digest.etag();
+    }
+
+    static String ofUser(User user) {
+        return new Digest()
+            .add(user.id().value())
+            .add(user.name())
+            .add(user.email().value())
+            .add(user.createdAt())
+            .add(user.updatedAt())
+            .etag();
+    }
+
+    /**
+     * Resposta 200 com ETag e, quando houver data de atualização, Last-Modified.
+     * Os horários da API não têm fuso; são tratados como UTC
+     */
+    static ResponseEntity.BodyBuilder ok(String etag, LocalDateTime updatedAt) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (updatedAt != null) {
+            response.lastModified(updatedAt.toInstant(ZoneOffset.UTC));
+        }
+        return response;
+    }
+
+    private static void addTodo(Digest digest, Todo todo) {
+        digest.add(todo.id().value())
+            .add(todo.userId())
+            .add(todo.title())
+            .add(todo.completed());
+    }
+
+    private static final class Digest {
+        private final MessageDigest sha256;
+
+        Digest() {
+            try {
+                this.sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Bytes do conteúdo como estão, sem separador
+         */
+        Digest add(byte[] content) {
+            sha256.update(content);
+            return this;
+        }
+
+        /**
+         * Mapas entram ordenados por chave (TreeMap) para que a ordem de inserção não mude o ETag
+         */
+        Digest add(Object value) {
+            if (value instanceof Map<?, ?> map && !(map instanceof TreeMap<?, ?>)) {
+                value = new TreeMap<>(map);
+            }
+            sha256.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            sha256.update(SEPARATOR);
+            return this;
+        }
+
+        /**
+         * 128 bits do SHA-256 bastam para distinguir versões de um mesmo recurso
+         */
+        String etag() {
+            byte[] hash = sha256.digest();
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package guichafy.sample_api.infrastructure.adapters.input.web;
+
+import guichafy.sample_api.domain.valueobjects.RouteId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da paginação por chave das listagens de rotas.
+ * Codifica o último {@link RouteId} entregue em base64url, com um prefixo de versão
+ * para permitir mudar a chave de ordenação sem aceitar cursores antigos por engano
+ */
+final class RouteCursor {
+
+    private static final String VERSION = "r1:";
+
+    private RouteCursor() {
+    }
+
+    static String encode(RouteId lastRouteId) {
+        byte[] raw = (VERSION + lastRouteId.value()).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Devolve o ID a partir do qual a próxima página começa
+     */
+    static String decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (!raw.startsWith(VERSION) || raw.length() == VERSION.length()) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return raw.substring(VERSION.length());
+    }
+}
@@ -0,0 +1,75 @@
+package guichafy.sample_api.infrastructure.adapters.input.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import guichafy.sample_api.domain.entities.Route;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Serializa rotas reaproveitando o JSON já gerado para a mesma versão da rota.
+ * <p>
+ * Cada {@link RouteResponse} é codificado uma única vez por versão da rota. A chave é o próprio
+ * {@link Route}, comparado por valor em todos os campos serializados (inclusive o status e os metadados
+ * resolvidos na leitura), então versões diferentes nunca compartilham o mesmo JSON. Listagens são montadas
+ * concatenando os fragmentos em cache, sem passar pelo Jackson para rotas que não mudaram
+ */
+@Component
+public class RouteJsonWriter implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Route, byte[]> fragments;
+
+    public RouteJsonWriter(ObjectMapper objectMapper, @Value("${app.route-json-cache.maximum-size:50000}") long maximumSize) {
+        this.objectMapper = objectMapper;
+        this.fragments = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * JSON de uma rota. O array retornado é compartilhado pelo cache e não deve ser alterado
+     */
+    public byte[] fragment(Route route) {
+        return fragments.get(route, this::encode);
+    }
+
+    /**
+     * Array JSON com as rotas, na ordem recebida
+     */
+    public byte[] array(List<Route> routes) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(64 + routes.size() * 512);
+        output.write('[');
+        for (int i = 0; i < routes.size(); i++) {
+            if (i > 0) {
+                output.write(',');
+            }
+            output.writeBytes(fragment(routes.get(i)));
+        }
+        output.write(']');
+        return output.toByteArray();
+    }
+
+    private byte[] encode(Route route) {
+        try {
+            return objectMapper.writeValueAsBytes(RouteResponse.fromRoute(route));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, fragments, "route.json");
+    }
+}
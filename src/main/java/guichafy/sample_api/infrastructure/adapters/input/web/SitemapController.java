@@ -1,26 +1,66 @@
 package guichafy.sample_api.infrastructure.adapters.input.web;
 
+import guichafy.sample_api.application.ports.input.GetRouteTagFacetsUseCase;
 import guichafy.sample_api.application.ports.input.GetRouteUseCase;
 import guichafy.sample_api.application.ports.input.GetRoutesUseCase;
+import guichafy.sample_api.application.ports.input.RequestDeadline;
+import guichafy.sample_api.application.ports.input.RequestDeadline.DeadlineExceededException;
 import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.input.StreamRoutesUseCase;
+import guichafy.sample_api.application.ports.input.TagMatchMode;
 import guichafy.sample_api.domain.entities.Route;
 import guichafy.sample_api.domain.valueobjects.RouteId;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/sitemap")
 public class SitemapController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final GetRouteUseCase getRouteUseCase;
     private final GetRoutesUseCase getRoutesUseCase;
+    private final StreamRoutesUseCase streamRoutesUseCase;
+    private final GetRouteTagFacetsUseCase getRouteTagFacetsUseCase;
+    private final RouteJsonWriter routeJsonWriter;
+    private final AsyncTaskExecutor streamingExecutor;
+    private final Duration requestDeadline;
 
-    public SitemapController(GetRouteUseCase getRouteUseCase, GetRoutesUseCase getRoutesUseCase) {
+    public SitemapController(
+            GetRouteUseCase getRouteUseCase,
+            GetRoutesUseCase getRoutesUseCase,
+            StreamRoutesUseCase streamRoutesUseCase,
+            GetRouteTagFacetsUseCase getRouteTagFacetsUseCase,
+            RouteJsonWriter routeJsonWriter,
+            @Qualifier("virtualThreadTaskExecutor") AsyncTaskExecutor streamingExecutor,
+            @Value("${app.sitemap.request-deadline:10s}") Duration requestDeadline
+    ) {
         this.getRouteUseCase = getRouteUseCase;
         this.getRoutesUseCase = getRoutesUseCase;
+        this.streamRoutesUseCase = streamRoutesUseCase;
+        this.getRouteTagFacetsUseCase = getRouteTagFacetsUseCase;
+        this.routeJsonWriter = routeJsonWriter;
+        this.streamingExecutor = streamingExecutor;
+        this.requestDeadline = requestDeadline;
     }
 
     /**
@@ -28,35 +68,58 @@ public class SitemapController {
      * GET /api/sitemap/routes/{id}
      */
     @GetMapping("/routes/{id}")
-    public ResponseEntity<RouteResponse> getRoute(@PathVariable String id) {
+    public ResponseEntity<byte[]> getRoute(@PathVariable String id) {
         RouteId routeId = RouteId.of(id);
-        Optional<Route> route = getRouteUseCase.getRouteById(routeId);
+        Optional<Route> route = withDeadline(() -> getRouteUseCase.getRouteById(routeId));
         
-        return route.map(r -> ResponseEntity.ok(RouteResponse.fromRoute(r)))
+        return route.map(r -> {
+                       byte[] json = routeJsonWriter.fragment(r);
+                       return ETags.ok(ETags.ofContent(json), r.updatedAt())
+                           .contentType(MediaType.APPLICATION_JSON)
+                           .body(json);
+                   })
                    .orElse(ResponseEntity.notFound().build());
     }
 
     /**
      * Endpoint para buscar todas as rotas com filtros REST
-     * GET /api/sitemap/routes?method=GET&tags=api,public&active=true&path=/api&page=0&size=20
+     * GET /api/sitemap/routes?method=GET&tags=api,public&match=all&active=true&path=/api&page=0&size=20
+     * O parâmetro match define a semântica das tags: any (padrão), all ou none.
+     * Paginação por cursor: quando a página vem cheia, o header X-Next-Cursor traz o cursor da próxima,
+     * que é repassado em ?cursor=...; o page passa a contar a partir do cursor
      */
     @GetMapping("/routes")
-    public ResponseEntity<List<RouteResponse>> getAllRoutes(
+    public ResponseEntity<byte[]> getAllRoutes(
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String path,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request
+    ) {
+        RouteFilter filter = new RouteFilter(method, tags, tagMatch(match), active, path, page, size);
+        return listRoutes(withCursor(filter, cursor), request);
+    }
+
+    /**
+     * Variante em streaming (NDJSON): cada rota é escrita assim que o seu status é resolvido
+     * GET /api/sitemap/routes com Accept: application/x-ndjson
+     */
+    @GetMapping(value = "/routes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamAllRoutes(
             @RequestParam(required = false) String method,
             @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String match,
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) String path,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
-        RouteFilter filter = new RouteFilter(method, tags, active, path, page, size);
-        List<Route> routes = getRoutesUseCase.getAllRoutes(filter);
-        
-        List<RouteResponse> responses = routes.stream()
-            .map(RouteResponse::fromRoute)
-            .toList();
-            
-        return ResponseEntity.ok(responses);
+        return streamRoutes(withCursor(new RouteFilter(method, tags, tagMatch(match), active, path, page, size), cursor));
     }
 
     /**
@@ -64,18 +127,23 @@ public class SitemapController {
      * GET /api/sitemap/routes/active
      */
     @GetMapping("/routes/active")
-    public ResponseEntity<List<RouteResponse>> getActiveRoutes(
+    public ResponseEntity<byte[]> getActiveRoutes(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request
     ) {
         RouteFilter filter = new RouteFilter(null, null, true, null, page, size);
-        List<Route> routes = getRoutesUseCase.getAllRoutes(filter);
-        
-        List<RouteResponse> responses = routes.stream()
-            .map(RouteResponse::fromRoute)
-            .toList();
-            
-        return ResponseEntity.ok(responses);
+        return listRoutes(withCursor(filter, cursor), request);
+    }
+
+    @GetMapping(value = "/routes/active", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamActiveRoutes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return streamRoutes(withCursor(new RouteFilter(null, null, true, null, page, size), cursor));
     }
 
     /**
@@ -83,38 +151,175 @@ public class SitemapController {
      * GET /api/sitemap/routes/method/{method}
      */
     @GetMapping("/routes/method/{method}")
-    public ResponseEntity<List<RouteResponse>> getRoutesByMethod(
+    public ResponseEntity<byte[]> getRoutesByMethod(
             @PathVariable String method,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request
     ) {
         RouteFilter filter = new RouteFilter(method.toUpperCase(), null, null, null, page, size);
-        List<Route> routes = getRoutesUseCase.getAllRoutes(filter);
-        
-        List<RouteResponse> responses = routes.stream()
-            .map(RouteResponse::fromRoute)
-            .toList();
-            
-        return ResponseEntity.ok(responses);
+        return listRoutes(withCursor(filter, cursor), request);
+    }
+
+    @GetMapping(value = "/routes/method/{method}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamRoutesByMethod(
+            @PathVariable String method,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return streamRoutes(withCursor(new RouteFilter(method.toUpperCase(), null, null, null, page, size), cursor));
     }
 
     /**
      * Endpoint para buscar rotas por tags
-     * GET /api/sitemap/routes/tags?tags=api,public
+     * GET /api/sitemap/routes/tags?tags=api,public&match=any
      */
     @GetMapping("/routes/tags")
-    public ResponseEntity<List<RouteResponse>> getRoutesByTags(
+    public ResponseEntity<byte[]> getRoutesByTags(
             @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request
+    ) {
+        RouteFilter filter = new RouteFilter(null, tags, tagMatch(match), null, null, page, size);
+        return listRoutes(withCursor(filter, cursor), request);
+    }
+
+    @GetMapping(value = "/routes/tags", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamRoutesByTags(
+            @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size
     ) {
-        RouteFilter filter = new RouteFilter(null, tags, null, null, page, size);
-        List<Route> routes = getRoutesUseCase.getAllRoutes(filter);
-        
-        List<RouteResponse> responses = routes.stream()
-            .map(RouteResponse::fromRoute)
-            .toList();
-            
-        return ResponseEntity.ok(responses);
+        return streamRoutes(withCursor(new RouteFilter(null, tags, tagMatch(match), null, null, page, size), cursor));
+    }
+
+    /**
+     * Endpoint de facetas: quantidade de rotas por tag entre as que atendem aos filtros
+     * GET /api/sitemap/routes/tags/facets?method=GET&active=true&tags=internal&match=none
+     */
+    @GetMapping("/routes/tags/facets")
+    public ResponseEntity<Map<String, Long>> getTagFacets(
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String path
+    ) {
+        RouteFilter filter = new RouteFilter(method, tags, tagMatch(match), active, path, null, null);
+        return ResponseEntity.ok(withDeadline(() -> getRouteTagFacetsUseCase.getTagFacets(filter)));
+    }
+
+    /**
+     * Monta a resposta da listagem a partir dos fragmentos JSON em cache, informando o cursor
+     * da próxima página quando a atual veio cheia e avançou além do cursor recebido.
+     * O ETag vem das rotas da página e é comparado antes de montar o JSON: com If-None-Match
+     * correspondente, a resposta é 304 sem serializar nada
+     */
+    private ResponseEntity<byte[]> listRoutes(RouteFilter filter, WebRequest request) {
+        List<Route> routes = withDeadline(() -> getRoutesUseCase.getAllRoutes(filter));
+        String etag = ETags.ofRoutes(routes);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        byte[] json = routeJsonWriter.array(routes);
+
+        // Sem Last-Modified: a remoção de uma rota não altera o maior updatedAt da página
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag);
+        // Sem suporte a cursor (catálogo ainda não carregado), a primeira página não anuncia uma próxima
+        // que não poderia ser atendida na mesma ordem
+        if (filter.size() != null && !routes.isEmpty() && routes.size() >= filter.size()
+                && getRoutesUseCase.supportsCursorPagination()) {
+            RouteId last = routes.get(routes.size() - 1).id();
+            // Uma página que não passou do cursor (ex.: origem que ignora o cursor) faria o cliente repetir
+            // o mesmo cursor para sempre
+            if (filter.afterRouteId() == null || last.value().compareTo(filter.afterRouteId()) > 0) {
+                response.header(NEXT_CURSOR_HEADER, RouteCursor.encode(last));
+            }
+        }
+        return response.body(json);
+    }
+
+    private RouteFilter withCursor(RouteFilter filter, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return filter;
+        }
+        if (!getRoutesUseCase.supportsCursorPagination()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Cursor pagination is not available yet");
+        }
+        try {
+            return filter.after(RouteCursor.decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private TagMatchMode tagMatch(String match) {
+        try {
+            return TagMatchMode.fromString(match);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Executa o caso de uso sob o prazo da requisição: as chamadas à API externa feitas em seu nome
+     * usam o tempo restante como timeout e são canceladas quando ele acaba
+     */
+    private <T> T withDeadline(Supplier<T> task) {
+        return RequestDeadline.after(requestDeadline).call(task);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Void> deadlineExceeded(DeadlineExceededException e, HttpServletRequest request) {
+        String query = request.getQueryString();
+        System.err.println("Deadline exceeded for " + request.getMethod() + " " + request.getRequestURI()
+            + (query != null ? "?" + query : "") + ": " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+    }
+
+    /**
+     * Escreve uma linha JSON por rota em uma Virtual Thread, liberando a thread da requisição.
+     * Se o cliente desconectar, a escrita falha e o streaming é interrompido; o erro ou timeout
+     * do emitter também cancela as chamadas à API externa ainda em andamento
+     */
+    private ResponseEntity<ResponseBodyEmitter> streamRoutes(RouteFilter filter) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        RequestDeadline deadline = RequestDeadline.unbounded();
+        emitter.onError(error -> deadline.cancel());
+        emitter.onTimeout(deadline::cancel);
+        streamingExecutor.execute(() -> {
+            try {
+                deadline.call(() -> {
+                    streamRoutesUseCase.streamAllRoutes(filter, route -> writeLine(emitter, route));
+                    return null;
+                });
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(emitter);
+    }
+
+    private void writeLine(ResponseBodyEmitter emitter, Route route) {
+        try {
+            byte[] json = routeJsonWriter.fragment(route);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            emitter.send(line, MediaType.APPLICATION_NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package guichafy.sample_api.infrastructure.adapters.input.web;
+
+import guichafy.sample_api.infrastructure.sitemap.RenderedSitemap;
+import guichafy.sample_api.infrastructure.sitemap.SitemapPublisher;
+import guichafy.sample_api.infrastructure.sitemap.SitemapRenderer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Serve o sitemap XML pré-renderizado para crawlers, sem chamadas à API externa.
+ * Os bytes já estão em gzip; clientes sem suporte a gzip recebem o XML descomprimido.
+ * O Last-Modified permite ao Spring responder 304 para If-Modified-Since
+ */
+@RestController
+public class SitemapXmlController {
+
+    private final SitemapPublisher sitemapPublisher;
+
+    public SitemapXmlController(SitemapPublisher sitemapPublisher) {
+        this.sitemapPublisher = sitemapPublisher;
+    }
+
+    /**
+     * Sitemap (ou sitemap index, quando há mais de 50.000 URLs)
+     * GET /sitemap.xml
+     */
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> getSitemap(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return serve(SitemapRenderer.INDEX_DOCUMENT, acceptEncoding);
+    }
+
+    /**
+     * Partes do sitemap referenciadas pelo sitemap index
+     * GET /sitemap-{shard}.xml
+     */
+    @GetMapping("/sitemap-{shard}.xml")
+    public ResponseEntity<byte[]> getSitemapShard(
+            @PathVariable int shard,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return serve(SitemapRenderer.shardDocument(shard), acceptEncoding);
+    }
+
+    private ResponseEntity<byte[]> serve(String document, String acceptEncoding) {
+        Optional<RenderedSitemap> sitemap = sitemapPublisher.current();
+        if (sitemap.isEmpty()) {
+            // O catálogo ainda não foi carregado
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .build();
+        }
+
+        Optional<byte[]> gzipped = sitemap.get().document(document);
+        if (gzipped.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_XML)
+            .lastModified(sitemap.get().lastModified())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzipped.get());
+        }
+        return response.body(gunzip(gzipped.get()));
+    }
+
+    /**
+     * Lê as codificações do Accept-Encoding com seus pesos: {@code gzip;q=0} recusa o gzip mesmo com
+     * {@code *}, e o curinga só vale quando o gzip não aparece. Sem o cabeçalho, o XML vai descomprimido
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    quality = parseQuality(parameter.substring(2).trim());
+                }
+            }
+            if (coding.equals("gzip")) {
+                gzip = quality;
+            } else {
+                wildcard = quality;
+            }
+        }
+        double quality = gzip != null ? gzip : wildcard != null ? wildcard : 0;
+        return quality > 0;
+    }
+
+    /**
+     * Um peso inválido conta como zero, o que mantém a resposta descomprimida
+     */
+    private static double parseQuality(String value) {
+        try {
+            double quality = Double.parseDouble(value);
+            return quality >= 0 && quality <= 1 ? quality : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] gunzip(byte[] gzipped) {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
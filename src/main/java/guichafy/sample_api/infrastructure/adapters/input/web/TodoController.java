@@ -1,11 +1,15 @@
 package guichafy.sample_api.infrastructure.adapters.input.web;
 
+import guichafy.sample_api.application.ports.input.GetTodoStatsUseCase;
 import guichafy.sample_api.application.ports.input.GetTodoUseCase;
 import guichafy.sample_api.application.ports.input.GetTodosUseCase;
+import guichafy.sample_api.application.ports.input.TodoFilter;
 import guichafy.sample_api.domain.entities.Todo;
 import guichafy.sample_api.domain.valueobjects.TodoId;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,23 +20,56 @@ public class TodoController {
 
     private final GetTodosUseCase getTodosUseCase;
     private final GetTodoUseCase getTodoUseCase;
+    private final GetTodoStatsUseCase getTodoStatsUseCase;
 
-    public TodoController(GetTodosUseCase getTodosUseCase, GetTodoUseCase getTodoUseCase) {
+    public TodoController(GetTodosUseCase getTodosUseCase, GetTodoUseCase getTodoUseCase, GetTodoStatsUseCase getTodoStatsUseCase) {
         this.getTodosUseCase = getTodosUseCase;
         this.getTodoUseCase = getTodoUseCase;
+        this.getTodoStatsUseCase = getTodoStatsUseCase;
     }
 
+    /**
+     * Lista os todos com filtros opcionais; sem size, retorna todos os resultados
+     * GET /api/todos?userId=1&completed=false&title=delectus&page=0&size=20
+     */
     @GetMapping
-    public List<TodoResponse> getTodos() {
-        return getTodosUseCase.getTodos().stream()
+    public ResponseEntity<List<TodoResponse>> getTodos(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String title,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size
+    ) {
+        List<Todo> todos = getTodosUseCase.getTodos(filter(userId, completed, title, page, size));
+        List<TodoResponse> responses = todos.stream()
                 .map(TodoResponse::fromTodo)
                 .toList();
+        return ResponseEntity.ok().eTag(ETags.ofTodos(todos)).body(responses);
+    }
+
+    /**
+     * Total, concluídos e pendentes por usuário
+     * GET /api/todos/stats
+     */
+    @GetMapping("/stats")
+    public List<TodoStatsResponse> getTodoStats() {
+        return getTodoStatsUseCase.getTodoStats().stream()
+                .map(TodoStatsResponse::fromStats)
+                .toList();
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<TodoResponse> getTodo(@PathVariable String id) {
         Optional<Todo> todo = getTodoUseCase.getTodoById(TodoId.of(id));
-        return todo.map(t -> ResponseEntity.ok(TodoResponse.fromTodo(t)))
+        return todo.map(t -> ResponseEntity.ok().eTag(ETags.ofTodo(t)).body(TodoResponse.fromTodo(t)))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    private TodoFilter filter(Long userId, Boolean completed, String title, int page, Integer size) {
+        try {
+            return new TodoFilter(userId, completed, title == null || title.isBlank() ? null : title, page, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package guichafy.sample_api.infrastructure.adapters.input.web;
+
+import guichafy.sample_api.application.ports.input.TodoStats;
+
+public record TodoStatsResponse(Long userId, long total, long completed, long pending) {
+    public static TodoStatsResponse fromStats(TodoStats stats) {
+        return new TodoStatsResponse(stats.userId(), stats.total(), stats.completed(), stats.pending());
+    }
+}
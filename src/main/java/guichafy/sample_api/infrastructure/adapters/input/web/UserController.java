@@ -2,13 +2,17 @@ package guichafy.sample_api.infrastructure.adapters.input.web;
 
 import guichafy.sample_api.application.ports.input.CreateUserCommand;
 import guichafy.sample_api.application.ports.input.CreateUserUseCase;
+import guichafy.sample_api.application.ports.input.CreateUsersUseCase;
 import guichafy.sample_api.application.ports.input.GetUserUseCase;
 import guichafy.sample_api.domain.entities.User;
 import guichafy.sample_api.domain.valueobjects.UserId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -16,11 +20,20 @@ import java.util.Optional;
 public class UserController {
 
     private final CreateUserUseCase createUserUseCase;
+    private final CreateUsersUseCase createUsersUseCase;
     private final GetUserUseCase getUserUseCase;
+    private final int bulkMaxSize;
 
-    public UserController(CreateUserUseCase createUserUseCase, GetUserUseCase getUserUseCase) {
+    public UserController(
+            CreateUserUseCase createUserUseCase,
+            CreateUsersUseCase createUsersUseCase,
+            GetUserUseCase getUserUseCase,
+            @Value("${app.users.bulk.max-size:50000}") int bulkMaxSize
+    ) {
         this.createUserUseCase = createUserUseCase;
+        this.createUsersUseCase = createUsersUseCase;
         this.getUserUseCase = getUserUseCase;
+        this.bulkMaxSize = bulkMaxSize;
     }
 
     @PostMapping
@@ -31,12 +44,29 @@ public class UserController {
                 .body(UserResponse.fromUser(user));
     }
 
+    /**
+     * Cria usuários em lote, com um resultado por item na ordem do corpo
+     * POST /api/users/bulk
+     */
+    @PostMapping("/bulk")
+    public List<CreateUserResultResponse> createUsers(@RequestBody List<CreateUserRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > bulkMaxSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must have between 1 and " + bulkMaxSize + " users");
+        }
+        List<CreateUserCommand> commands = requests.stream()
+                .map(request -> new CreateUserCommand(request.name(), request.email()))
+                .toList();
+        return createUsersUseCase.createUsers(commands).stream()
+                .map(CreateUserResultResponse::fromResult)
+                .toList();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserResponse> getUser(@PathVariable String id) {
         UserId userId = UserId.of(id);
         Optional<User> user = getUserUseCase.getUserById(userId);
         
-        return user.map(u -> ResponseEntity.ok(UserResponse.fromUser(u)))
+        return user.map(u -> ETags.ok(ETags.ofUser(u), u.updatedAt()).body(UserResponse.fromUser(u)))
                   .orElse(ResponseEntity.notFound().build());
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import guichafy.sample_api.infrastructure.concurrency.BatchingQueue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Decorator de {@link UserApiPort} que tira a notificação de usuário criado do caminho da requisição:
+ * os eventos vão para uma {@link BatchingQueue} e são entregues em lote pelo notificador do delegate.
+ * Com a fila cheia, a notificação é descartada (e contada) em vez de atrasar o cadastro.
+ */
+public class AsyncNotifyingUserApiAdapter implements UserApiPort {
+
+    private final UserApiPort delegate;
+    private final BatchingQueue<User> notifications;
+
+    public AsyncNotifyingUserApiAdapter(UserApiPort delegate, BatchingQueue<User> notifications) {
+        this.delegate = delegate;
+        this.notifications = notifications;
+    }
+
+    @Override
+    public Optional<User> findUserById(UserId userId) {
+        return delegate.findUserById(userId);
+    }
+
+    @Override
+    public User saveUser(User user) {
+        return delegate.saveUser(user);
+    }
+
+    @Override
+    public void notifyUserCreated(User user) {
+        notifications.offer(user);
+    }
+
+    @Override
+    public boolean emailExists(String email) {
+        return delegate.emailExists(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public List<User> saveUsers(List<User> users) {
+        return delegate.saveUsers(users);
+    }
+
+    @Override
+    public void notifyUsersCreated(List<User> users) {
+        users.forEach(notifications::offer);
+    }
+
+    @Override
+    public List<String> findEmails(int offset, int limit) {
+        return delegate.findEmails(offset, limit);
+    }
+}
@@ -0,0 +1,114 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import guichafy.sample_api.application.ports.input.RequestDeadline;
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.output.RouteApiPort;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.config.RouteCacheProperties.CacheSpec;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Decorator de {@link RouteApiPort} que mantém um cache de leitura na frente da API externa.
+ * <p>
+ * Rotas, status e metadados ficam em caches separados, cada um com seu TTL e tamanho máximo
+ * (evicção W-TinyLFU do Caffeine). Entradas mais antigas que {@code refreshAfter} continuam
+ * sendo servidas enquanto uma recarga acontece em background (stale-while-revalidate).
+ * Listagens não são cacheadas e vão direto para o delegate. Cada chamador recebe uma cópia do future
+ * do cache: cancelar a sua (ex.: prazo da requisição expirado) não derruba a carga que os demais aguardam.
+ * Pelo mesmo motivo as cargas rodam sem o prazo da requisição que as disparou; cada chamador aplica o seu
+ * ao esperar o resultado. Cargas que falham não ficam no cache: o fallback é aplicado depois dele,
+ * pelo {@link FallbackRouteApiAdapter}.
+ */
+public class CachingRouteApiAdapter implements RouteApiPort {
+
+    private final RouteApiPort delegate;
+    private final AsyncLoadingCache<RouteId, Optional<Route>> routeCache;
+    private final AsyncLoadingCache<RouteId, Boolean> statusCache;
+    private final AsyncLoadingCache<RouteId, Map<String, Object>> metadataCache;
+
+    public CachingRouteApiAdapter(RouteApiPort delegate, CacheSpec routes, CacheSpec status, CacheSpec metadata) {
+        this.delegate = delegate;
+        this.routeCache = buildCache(routes, (routeId, executor) ->
+            RequestDeadline.detached(() -> delegate.findRouteByIdAsync(routeId)));
+        this.statusCache = buildCache(status, new AsyncCacheLoader<>() {
+            @Override
+            public CompletableFuture<Boolean> asyncLoad(RouteId routeId, Executor executor) {
+                return RequestDeadline.detached(() -> delegate.isRouteActiveAsync(routeId));
+            }
+
+            @Override
+            public CompletableFuture<Map<RouteId, Boolean>> asyncLoadAll(Set<? extends RouteId> routeIds, Executor executor) {
+                return RequestDeadline.detached(() -> delegate.areRoutesActiveAsync(List.copyOf(routeIds)));
+            }
+        });
+        this.metadataCache = buildCache(metadata, (routeId, executor) ->
+            RequestDeadline.detached(() -> delegate.findRouteMetadataAsync(routeId)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Route>> findRouteByIdAsync(RouteId routeId) {
+        return routeCache.get(routeId).copy();
+    }
+
+    @Override
+    public CompletableFuture<List<Route>> findAllRoutesAsync(RouteFilter filter) {
+        return delegate.findAllRoutesAsync(filter);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer) {
+        return delegate.streamAllRoutesAsync(filter, consumer);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Long>> tagFacetsAsync(RouteFilter filter) {
+        return delegate.tagFacetsAsync(filter);
+    }
+
+    @Override
+    public boolean supportsCursorPagination() {
+        return delegate.supportsCursorPagination();
+    }
+
+    @Override
+    public CompletableFuture<Optional<Route>> enrichRouteMetadataAsync(Route route) {
+        return findRouteMetadataAsync(route.id())
+            .thenApply(metadata -> Optional.of(route.withAdditionalMetadata(metadata)));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> findRouteMetadataAsync(RouteId routeId) {
+        return metadataCache.get(routeId).copy();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId) {
+        return statusCache.get(routeId).copy();
+    }
+
+    @Override
+    public CompletableFuture<Map<RouteId, Boolean>> areRoutesActiveAsync(Collection<RouteId> routeIds) {
+        // Apenas as rotas ausentes do cache seguem, em um único lote, para o delegate
+        return statusCache.getAll(routeIds);
+    }
+
+    private static <V> AsyncLoadingCache<RouteId, V> buildCache(CacheSpec spec, AsyncCacheLoader<RouteId, V> loader) {
+        return Caffeine.newBuilder()
+            .maximumSize(spec.maximumSize())
+            .refreshAfterWrite(spec.refreshAfter())
+            .expireAfterWrite(spec.expireAfter())
+            .buildAsync(loader);
+    }
+}
@@ -0,0 +1,125 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator de {@link UserApiPort} que mantém um cache da busca por ID, incluindo os "não encontrados".
+ * <p>
+ * Usuários encontrados e ausentes dividem o mesmo cache limitado, mas expiram com TTLs diferentes:
+ * o cache negativo absorve buscas repetidas por IDs inexistentes sem prender por muito tempo um ID
+ * que venha a ser criado. Salvar um usuário invalida a entrada do seu ID. Falhas do delegate não são cacheadas.
+ */
+public class CachingUserApiAdapter implements UserApiPort, MeterBinder {
+
+    private final UserApiPort delegate;
+    private final Cache<UserId, Optional<User>> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingUserApiAdapter(UserApiPort delegate, Duration foundTtl, Duration notFoundTtl, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(Expiry.creating((UserId userId, Optional<User> user) -> user.isPresent() ? foundTtl : notFoundTtl))
+            .build();
+    }
+
+    @Override
+    public Optional<User> findUserById(UserId userId) {
+        Optional<User> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            (cached.isPresent() ? hits : negativeHits).increment();
+            return cached;
+        }
+        misses.increment();
+        return cache.get(userId, delegate::findUserById);
+    }
+
+    @Override
+    public User saveUser(User user) {
+        User savedUser = delegate.saveUser(user);
+        cache.invalidate(savedUser.id());
+        return savedUser;
+    }
+
+    @Override
+    public void notifyUserCreated(User user) {
+        delegate.notifyUserCreated(user);
+    }
+
+    @Override
+    public boolean emailExists(String email) {
+        return delegate.emailExists(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public List<User> saveUsers(List<User> users) {
+        List<User> savedUsers = delegate.saveUsers(users);
+        cache.invalidateAll(savedUsers.stream().map(User::id).toList());
+        return savedUsers;
+    }
+
+    @Override
+    public void notifyUsersCreated(List<User> users) {
+        delegate.notifyUsersCreated(users);
+    }
+
+    @Override
+    public List<String> findEmails(int offset, int limit) {
+        return delegate.findEmails(offset, limit);
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long negativeHitCount() {
+        return negativeHits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.cache.requests", hits, LongAdder::sum)
+            .description("Buscas de usuário por ID respondidas pelo cache com o usuário")
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("user.cache.requests", negativeHits, LongAdder::sum)
+            .description("Buscas de usuário por ID respondidas pelo cache negativo")
+            .tag("result", "negative-hit")
+            .register(registry);
+        FunctionCounter.builder("user.cache.requests", misses, LongAdder::sum)
+            .description("Buscas de usuário por ID que seguiram para o delegate")
+            .tag("result", "miss")
+            .register(registry);
+        Gauge.builder("user.cache.size", cache, Cache::estimatedSize)
+            .description("Entradas no cache de usuários")
+            .register(registry);
+    }
+}
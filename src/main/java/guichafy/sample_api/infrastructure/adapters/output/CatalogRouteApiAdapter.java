@@ -0,0 +1,96 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.output.RouteApiPort;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.catalog.RouteCatalog;
+import guichafy.sample_api.infrastructure.catalog.RouteCatalogSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Decorator de {@link RouteApiPort} que responde as listagens a partir do snapshot local do catálogo.
+ * Enquanto o catálogo não foi carregado, as listagens e as facetas de tags seguem para o delegate;
+ * as demais operações sempre seguem.
+ */
+public class CatalogRouteApiAdapter implements RouteApiPort {
+
+    private final RouteApiPort delegate;
+    private final RouteCatalog catalog;
+
+    public CatalogRouteApiAdapter(RouteApiPort delegate, RouteCatalog catalog) {
+        this.delegate = delegate;
+        this.catalog = catalog;
+    }
+
+    @Override
+    public CompletableFuture<List<Route>> findAllRoutesAsync(RouteFilter filter) {
+        Optional<RouteCatalogSnapshot> snapshot = catalog.snapshot();
+        if (snapshot.isEmpty()) {
+            return delegate.findAllRoutesAsync(filter);
+        }
+        return CompletableFuture.completedFuture(snapshot.get().query(filter));
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer) {
+        Optional<RouteCatalogSnapshot> snapshot = catalog.snapshot();
+        if (snapshot.isEmpty()) {
+            return delegate.streamAllRoutesAsync(filter, consumer);
+        }
+        try {
+            snapshot.get().query(filter).forEach(consumer);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Long>> tagFacetsAsync(RouteFilter filter) {
+        Optional<RouteCatalogSnapshot> snapshot = catalog.snapshot();
+        if (snapshot.isEmpty()) {
+            return delegate.tagFacetsAsync(filter);
+        }
+        return CompletableFuture.completedFuture(snapshot.get().tagFacets(filter));
+    }
+
+    /**
+     * O snapshot é ordenado por ID e aceita cursor; antes da primeira carga, vale o que o delegate suportar
+     */
+    @Override
+    public boolean supportsCursorPagination() {
+        return catalog.snapshot().isPresent() || delegate.supportsCursorPagination();
+    }
+
+    @Override
+    public CompletableFuture<Optional<Route>> findRouteByIdAsync(RouteId routeId) {
+        return delegate.findRouteByIdAsync(routeId);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Route>> enrichRouteMetadataAsync(Route route) {
+        return delegate.enrichRouteMetadataAsync(route);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> findRouteMetadataAsync(RouteId routeId) {
+        return delegate.findRouteMetadataAsync(routeId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId) {
+        return delegate.isRouteActiveAsync(routeId);
+    }
+
+    @Override
+    public CompletableFuture<Map<RouteId, Boolean>> areRoutesActiveAsync(Collection<RouteId> routeIds) {
+        return delegate.areRoutesActiveAsync(routeIds);
+    }
+}
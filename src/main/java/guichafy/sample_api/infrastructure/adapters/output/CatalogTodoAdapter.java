@@ -0,0 +1,58 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import guichafy.sample_api.application.ports.input.TodoFilter;
+import guichafy.sample_api.application.ports.input.TodoStats;
+import guichafy.sample_api.application.ports.output.TodoApiPort;
+import guichafy.sample_api.domain.entities.Todo;
+import guichafy.sample_api.domain.valueobjects.TodoId;
+import guichafy.sample_api.infrastructure.catalog.TodoCatalog;
+import guichafy.sample_api.infrastructure.catalog.TodoCatalogSnapshot;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorator de {@link TodoApiPort} que responde a partir do snapshot local de todos.
+ * Enquanto o snapshot não foi carregado, tudo segue para o delegate; buscas por ID que não
+ * estão no snapshot (todos criados depois da última carga) também seguem para o delegate.
+ */
+public class CatalogTodoAdapter implements TodoApiPort {
+
+    private final TodoApiPort delegate;
+    private final TodoCatalog catalog;
+
+    public CatalogTodoAdapter(TodoApiPort delegate, TodoCatalog catalog) {
+        this.delegate = delegate;
+        this.catalog = catalog;
+    }
+
+    @Override
+    public List<Todo> findAllTodos() {
+        return catalog.snapshot()
+            .map(TodoCatalogSnapshot::todos)
+            .orElseGet(delegate::findAllTodos);
+    }
+
+    @Override
+    public List<Todo> findTodos(TodoFilter filter) {
+        Optional<TodoCatalogSnapshot> snapshot = catalog.snapshot();
+        if (snapshot.isEmpty()) {
+            return delegate.findTodos(filter);
+        }
+        return snapshot.get().query(filter);
+    }
+
+    @Override
+    public Optional<Todo> findTodoById(TodoId todoId) {
+        return catalog.snapshot()
+            .flatMap(snapshot -> snapshot.findById(todoId))
+            .or(() -> delegate.findTodoById(todoId));
+    }
+
+    @Override
+    public List<TodoStats> todoStatsByUser() {
+        return catalog.snapshot()
+            .map(TodoCatalogSnapshot::statsByUser)
+            .orElseGet(delegate::todoStatsByUser);
+    }
+}
@@ -1,141 +1,458 @@
 package guichafy.sample_api.infrastructure.adapters.output;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guichafy.sample_api.application.ports.input.RequestDeadline;
 import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.input.TagMatchMode;
 import guichafy.sample_api.application.ports.output.RouteApiPort;
 import guichafy.sample_api.domain.entities.Route;
 import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.concurrency.Hedger;
+import guichafy.sample_api.infrastructure.concurrency.Interruptible;
+import guichafy.sample_api.infrastructure.concurrency.MicroBatcher;
+import guichafy.sample_api.infrastructure.concurrency.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Component
-public class ExternalRouteApiAdapter implements RouteApiPort {
+public class ExternalRouteApiAdapter implements RouteApiPort, MeterBinder, DisposableBean {
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
     private final String baseUrl;
+    private final Executor executor;
+
+    // GETs idempotentes podem ganhar uma segunda chamada quando a primeira demora (desligado por padrão)
+    private final Hedger hedger;
+
+    // Chamadas idênticas em andamento são compartilhadas por operação e RouteId
+    private final SingleFlight<RouteId, Optional<Route>> routeCalls = new SingleFlight<>();
+    private final SingleFlight<RouteId, Boolean> statusCalls = new SingleFlight<>();
+    private final SingleFlight<RouteId, Map<String, Object>> metadataCalls = new SingleFlight<>();
+
+    // Consultas de status concorrentes são agrupadas em lotes
+    private final MicroBatcher<RouteId, Boolean> statusBatcher;
+    private volatile boolean bulkStatusSupported;
+
+    // Rotas da listagem descartadas por não formarem uma rota válida
+    private final LongAdder invalidRoutes = new LongAdder();
+
+    // A API externa só recebe o cursor (?after=) quando suporta paginação por chave, com as rotas em ordem de ID
+    private final boolean cursorSupported;
+
+    // Tamanho das páginas pedidas ao percorrer a listagem completa (ex.: facetas)
+    private final int scanPageSize;
 
     public ExternalRouteApiAdapter(
             RestTemplate restTemplate,
-            @Value("${app.external-api.base-url:https://api.example.com}") String baseUrl
+            ObjectMapper objectMapper,
+            String baseUrl,
+            Executor executor,
+            Duration batchWindow,
+            int maxBatchSize,
+            boolean bulkStatusSupported
+    ) {
+        this(restTemplate, objectMapper, baseUrl, executor, batchWindow, maxBatchSize, bulkStatusSupported,
+            false, 500, Hedger.disabled("route-api", executor));
+    }
+
+    @Autowired
+    public ExternalRouteApiAdapter(
+            @Qualifier("routesRestTemplate") RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.external-api.base-url:https://api.example.com}") String baseUrl,
+            @Qualifier("routeApiBulkhead") Executor executor,
+            @Value("${app.external-api.status-batch.window:5ms}") Duration batchWindow,
+            @Value("${app.external-api.status-batch.max-size:100}") int maxBatchSize,
+            @Value("${app.external-api.status-batch.bulk-endpoint:false}") boolean bulkStatusSupported,
+            @Value("${app.external-api.cursor-pagination:false}") boolean cursorSupported,
+            @Value("${app.external-api.scan-page-size:500}") int scanPageSize,
+            @Qualifier("routeApiHedger") Hedger hedger
     ) {
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
         this.baseUrl = baseUrl;
+        this.executor = executor;
+        this.hedger = hedger;
+        this.bulkStatusSupported = bulkStatusSupported;
+        this.cursorSupported = cursorSupported;
+        this.scanPageSize = scanPageSize;
+        this.statusBatcher = new MicroBatcher<>("route-status", batchWindow, maxBatchSize, this::loadStatuses);
     }
 
+    /**
+     * Falhas completam o future com erro; o fallback fica no {@link FallbackRouteApiAdapter},
+     * fora do cache, para que uma indisponibilidade da API externa não seja cacheada como rota inexistente
+     */
     @Override
     public CompletableFuture<Optional<Route>> findRouteByIdAsync(RouteId routeId) {
-        return CompletableFuture.supplyAsync(() -> {
+        // A chamada é compartilhada entre requisições, então não herda o prazo de nenhuma delas
+        return routeCalls.execute(routeId, () -> hedger.call(() -> {
+            String url = baseUrl + "/routes/" + routeId.value();
             try {
-                String url = baseUrl + "/routes/" + routeId.value();
                 ExternalRouteResponse response = restTemplate.getForObject(url, ExternalRouteResponse.class);
-                
-                if (response == null) {
-                    return Optional.empty();
-                }
-                
-                return Optional.of(mapToRoute(response));
-                
-            } catch (Exception e) {
-                // Log error and return empty - in production, implement proper error handling
-                System.err.println("Error fetching route " + routeId + ": " + e.getMessage());
+                return Optional.ofNullable(response).map(this::mapToRoute);
+            } catch (HttpClientErrorException.NotFound e) {
                 return Optional.empty();
             }
-        });
+        }));
     }
 
     @Override
     public CompletableFuture<List<Route>> findAllRoutesAsync(RouteFilter filter) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl + "/routes");
-                
-                // Adiciona filtros como query parameters
-                if (filter.method() != null) {
-                    builder.queryParam("method", filter.method());
-                }
-                if (filter.tags() != null && !filter.tags().isEmpty()) {
-                    builder.queryParam("tags", String.join(",", filter.tags()));
-                }
-                if (filter.isActive() != null) {
-                    builder.queryParam("active", filter.isActive());
-                }
-                if (filter.pathContains() != null) {
-                    builder.queryParam("path", filter.pathContains());
-                }
-                if (filter.page() != null) {
-                    builder.queryParam("page", filter.page());
-                }
-                if (filter.size() != null) {
-                    builder.queryParam("size", filter.size());
-                }
-                
-                String url = builder.toUriString();
-                ExternalRouteResponse[] responses = restTemplate.getForObject(url, ExternalRouteResponse[].class);
-                
-                if (responses == null) {
-                    return Collections.emptyList();
-                }
-                
-                return Arrays.stream(responses)
-                    .map(this::mapToRoute)
-                    .toList();
-                    
-            } catch (Exception e) {
+        List<Route> routes = new ArrayList<>();
+        CompletableFuture<Void> stream = streamAllRoutesAsync(filter, routes::add);
+        return Interruptible.cancelling(stream
+            .<List<Route>>thenApply(ignored -> routes)
+            .exceptionally(e -> {
                 // Log error and return empty list - in production, implement proper error handling
                 System.err.println("Error fetching routes with filter " + filter + ": " + e.getMessage());
                 return Collections.emptyList();
+            }), stream);
+    }
+
+    /**
+     * Cancelar o future interrompe a leitura em andamento e fecha a conexão
+     */
+    @Override
+    public CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer) {
+        if (filter.afterRouteId() != null && !cursorSupported) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException("Cursor pagination is not supported by the external route API"));
+        }
+        return Interruptible.supplyAsync(RequestDeadline.propagate(() -> restTemplate.<Void>execute(
+            routesUri(filter),
+            HttpMethod.GET,
+            request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+            response -> {
+                readRoutes(response.getBody(), consumer);
+                return null;
+            }
+        )), executor);
+    }
+
+    @Override
+    public boolean supportsCursorPagination() {
+        return cursorSupported;
+    }
+
+    /**
+     * A API externa não expõe facetas: percorre a listagem completa do filtro, página a página, contando as tags.
+     * Falhas completam o future com erro, em vez de contagens parciais ou vazias
+     */
+    @Override
+    public CompletableFuture<Map<String, Long>> tagFacetsAsync(RouteFilter filter) {
+        Map<String, Long> counts = new HashMap<>();
+        CompletableFuture<Void> stream = streamAllPagesAsync(filter, route -> {
+            if (route.tags() != null) {
+                route.tags().stream().distinct().forEach(tag -> counts.merge(tag, 1L, Long::sum));
             }
         });
+        return Interruptible.cancelling(stream
+            .<Map<String, Long>>thenApply(ignored -> {
+                Map<String, Long> facets = new LinkedHashMap<>();
+                counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> facets.put(entry.getKey(), entry.getValue()));
+                return facets;
+            }), stream);
+    }
+
+    /**
+     * Percorre todas as páginas do filtro até receber uma página vazia ou sem rotas novas, como a carga
+     * do catálogo: a API pode limitar o tamanho da página ou ignorar a paginação. Cada rota é entregue
+     * uma única vez; cancelar o future cancela a página em andamento
+     */
+    private CompletableFuture<Void> streamAllPagesAsync(RouteFilter filter, Consumer<Route> consumer) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<Void>> currentPage = new AtomicReference<>();
+        result.whenComplete((ignored, error) -> {
+            CompletableFuture<Void> page = currentPage.get();
+            if (result.isCancelled() && page != null) {
+                page.cancel(true);
+            }
+        });
+        // As páginas seguintes partem de threads de conclusão, então o prazo da requisição é levado junto
+        streamPage(RequestDeadline.current(), filter, 0, new HashSet<>(), consumer, result, currentPage);
+        return result;
+    }
+
+    private void streamPage(RequestDeadline deadline, RouteFilter filter, int page, Set<RouteId> seen,
+                            Consumer<Route> consumer, CompletableFuture<Void> result,
+                            AtomicReference<CompletableFuture<Void>> currentPage) {
+        int known = seen.size();
+        CompletableFuture<Void> call = deadline.call(() -> streamAllRoutesAsync(filter.atPage(page, scanPageSize), route -> {
+            if (seen.add(route.id())) {
+                consumer.accept(route);
+            }
+        }));
+        currentPage.set(call);
+        if (result.isCancelled()) {
+            call.cancel(true);
+        }
+        call.whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (seen.size() == known) {
+                result.complete(null);
+            } else {
+                streamPage(deadline, filter, page + 1, seen, consumer, result, currentPage);
+            }
+        });
+    }
+
+    /**
+     * Lê o array JSON elemento a elemento, entregando cada rota assim que é lida,
+     * sem manter a resposta inteira em memória. Rotas inválidas são descartadas e contadas,
+     * em vez de derrubar a listagem inteira
+     */
+    private void readRoutes(InputStream body, Consumer<Route> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of routes but got " + token);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = parser.readValueAsTree();
+                Route route;
+                try {
+                    route = mapToRoute(objectMapper.treeToValue(node, ExternalRouteResponse.class));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    // Log error and skip the route
+                    invalidRoutes.increment();
+                    System.err.println("Skipping invalid route " + node.path("id").asText("?") + ": " + e.getMessage());
+                    continue;
+                }
+                consumer.accept(route);
+            }
+        }
+    }
+
+    private URI routesUri(RouteFilter filter) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + "/routes");
+        
+        // Adiciona filtros como query parameters
+        if (filter.method() != null) {
+            builder.queryParam("method", filter.method());
+        }
+        if (filter.tags() != null && !filter.tags().isEmpty()) {
+            builder.queryParam("tags", String.join(",", filter.tags()));
+            if (filter.tagMatch() != TagMatchMode.ANY) {
+                builder.queryParam("tagMatch", filter.tagMatch().name().toLowerCase());
+            }
+        }
+        if (filter.isActive() != null) {
+            builder.queryParam("active", filter.isActive());
+        }
+        if (filter.pathContains() != null) {
+            builder.queryParam("path", filter.pathContains());
+        }
+        if (filter.afterRouteId() != null) {
+            // Paginação por chave: a API externa devolve as rotas com ID maior que o cursor,
+            // e o page conta a partir dele, como no snapshot do catálogo
+            builder.queryParam("after", filter.afterRouteId());
+        }
+        if (filter.page() != null) {
+            builder.queryParam("page", filter.page());
+        }
+        if (filter.size() != null) {
+            builder.queryParam("size", filter.size());
+        }
+        
+        return builder.encode().build().toUri();
     }
 
     @Override
     public CompletableFuture<Optional<Route>> enrichRouteMetadataAsync(Route route) {
-        return CompletableFuture.supplyAsync(() -> {
+        return findRouteMetadataAsync(route.id())
+            .thenApply(metadata -> Optional.of(route.withAdditionalMetadata(metadata)));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> findRouteMetadataAsync(RouteId routeId) {
+        CompletableFuture<Map<String, Object>> call = metadataCalls.execute(routeId, () -> fetchMetadataAsync(routeId));
+        return Interruptible.cancelling(call
+            .thenApply(metadata -> metadata != null ? metadata : Collections.<String, Object>emptyMap()), call);
+    }
+
+    /**
+     * Busca apenas o mapa de metadados, que é compartilhado entre chamadas concorrentes da mesma rota
+     * e por isso não herda o prazo de nenhuma requisição
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Map<String, Object>> fetchMetadataAsync(RouteId routeId) {
+        return hedger.call(() -> {
+            String url = baseUrl + "/routes/" + routeId.value() + "/metadata";
             try {
-                String url = baseUrl + "/routes/" + route.id().value() + "/metadata";
-                Map<String, Object> metadata = restTemplate.getForObject(url, Map.class);
-                
-                if (metadata == null || metadata.isEmpty()) {
-                    return Optional.of(route);
-                }
-                
-                // Combina metadados existentes com os novos
-                Map<String, Object> combinedMetadata = new HashMap<>(route.metadata());
-                combinedMetadata.putAll(metadata);
-                
-                Route enrichedRoute = route.withUpdatedMetadata(combinedMetadata);
-                return Optional.of(enrichedRoute);
-                
-            } catch (Exception e) {
-                // Log error and return original route - in production, implement proper error handling
-                System.err.println("Error enriching route metadata for " + route.id() + ": " + e.getMessage());
-                return Optional.of(route);
+                return (Map<String, Object>) restTemplate.getForObject(url, Map.class);
+            } catch (HttpClientErrorException.NotFound e) {
+                return null;
             }
         });
     }
 
     @Override
     public CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return statusBatcher.submit(routeId);
+    }
+
+    /**
+     * Rotas cuja consulta falhou ficam fora do mapa, para não serem cacheadas como inativas;
+     * o {@link FallbackRouteApiAdapter} as completa
+     */
+    @Override
+    public CompletableFuture<Map<RouteId, Boolean>> areRoutesActiveAsync(Collection<RouteId> routeIds) {
+        return statusBatcher.submitAll(routeIds);
+    }
+
+    /**
+     * Resolve um lote de status. O endpoint em lote da API externa é opcional
+     * ({@code app.external-api.status-batch.bulk-endpoint}); se ele falhar, o lote é resolvido com
+     * chamadas individuais em paralelo, e se a API responder que não o suporta, deixa de ser usado.
+     * O lote atende várias requisições, então não herda o prazo de nenhuma delas.
+     */
+    private CompletableFuture<Map<RouteId, Boolean>> loadStatuses(Set<RouteId> routeIds) {
+        if (!bulkStatusSupported) {
+            return loadStatusesIndividually(routeIds);
+        }
+
+        return hedger.call(() -> {
+            URI uri = UriComponentsBuilder.fromUriString(baseUrl + "/routes/status")
+                .queryParam("ids", routeIds.stream().map(RouteId::value).collect(Collectors.joining(",")))
+                .encode()
+                .build()
+                .toUri();
+            ExternalRouteStatusResponse[] responses = restTemplate.getForObject(uri, ExternalRouteStatusResponse[].class);
+
+            Map<RouteId, Boolean> statuses = new HashMap<>();
+            routeIds.forEach(routeId -> statuses.put(routeId, false));
+            if (responses != null) {
+                for (ExternalRouteStatusResponse response : responses) {
+                    RouteId routeId = RouteId.of(response.id());
+                    if (statuses.containsKey(routeId)) {
+                        statuses.put(routeId, response.active());
+                    }
+                }
+            }
+            return statuses;
+        }).exceptionallyCompose(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof HttpClientErrorException clientError && isUnsupported(clientError)) {
+                System.err.println("Bulk status endpoint not available, falling back to individual calls");
+                bulkStatusSupported = false;
+            } else {
+                // Log error and fall back for this batch
+                System.err.println("Error checking route statuses in bulk for " + routeIds + ": " + cause.getMessage());
+            }
+            return loadStatusesIndividually(routeIds);
+        });
+    }
+
+    private CompletableFuture<Map<RouteId, Boolean>> loadStatusesIndividually(Set<RouteId> routeIds) {
+        Map<RouteId, CompletableFuture<Boolean>> futures = new HashMap<>();
+        routeIds.forEach(routeId -> futures.put(routeId, statusCalls.execute(routeId, () -> fetchStatusAsync(routeId))));
+
+        // Rotas que falharam ficam fora do lote: o MicroBatcher completa apenas essas com erro
+        return CompletableFuture.allOf(futures.values().stream()
+                .map(future -> future.handle((value, error) -> null))
+                .toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                Map<RouteId, Boolean> statuses = new HashMap<>();
+                futures.forEach((routeId, future) -> {
+                    if (!future.isCompletedExceptionally()) {
+                        statuses.put(routeId, future.join());
+                    }
+                });
+                return statuses;
+            });
+    }
+
+    private CompletableFuture<Boolean> fetchStatusAsync(RouteId routeId) {
+        return hedger.call(() -> {
+            String url = baseUrl + "/routes/" + routeId.value() + "/status";
             try {
-                String url = baseUrl + "/routes/" + routeId.value() + "/status";
                 ExternalRouteStatusResponse response = restTemplate.getForObject(url, ExternalRouteStatusResponse.class);
-                
                 return response != null && response.active();
-                
-            } catch (Exception e) {
-                // Log error and return false - in production, implement proper error handling
-                System.err.println("Error checking route status for " + routeId + ": " + e.getMessage());
+            } catch (HttpClientErrorException.NotFound e) {
                 return false;
             }
         });
     }
 
+    private static boolean isUnsupported(HttpClientErrorException e) {
+        HttpStatusCode status = e.getStatusCode();
+        return status.isSameCodeAs(HttpStatus.NOT_FOUND) || status.isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED);
+    }
+
+    /**
+     * Encerra a thread da janela do lote de status
+     */
+    @Override
+    public void destroy() {
+        statusBatcher.close();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindSingleFlight(registry, "find", routeCalls);
+        bindSingleFlight(registry, "status", statusCalls);
+        bindSingleFlight(registry, "metadata", metadataCalls);
+        FunctionCounter.builder("route.upstream.invalid", invalidRoutes, LongAdder::sum)
+            .description("Rotas da listagem descartadas por dados inválidos")
+            .register(registry);
+        FunctionCounter.builder("route.upstream.status.batches", statusBatcher, MicroBatcher::batchCount)
+            .description("Lotes de consulta de status disparados")
+            .register(registry);
+        FunctionCounter.builder("route.upstream.status.lookups", statusBatcher, MicroBatcher::submittedCount)
+            .description("Consultas de status recebidas pelo dispatcher de lotes")
+            .register(registry);
+    }
+
+    private static void bindSingleFlight(MeterRegistry registry, String operation, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("route.upstream.calls", singleFlight, SingleFlight::executedCount)
+            .description("Chamadas disparadas para a API externa de rotas")
+            .tag("operation", operation)
+            .register(registry);
+        FunctionCounter.builder("route.upstream.coalesced", singleFlight, SingleFlight::coalescedCount)
+            .description("Chamadas que reaproveitaram uma chamada idêntica em andamento")
+            .tag("operation", operation)
+            .register(registry);
+    }
+
     private Route mapToRoute(ExternalRouteResponse response) {
         return new Route(
             RouteId.of(response.id()),
@@ -146,8 +463,9 @@ public class ExternalRouteApiAdapter implements RouteApiPort {
             response.tags() != null ? response.tags() : Collections.emptyList(),
             response.metadata() != null ? response.metadata() : Collections.emptyMap(),
             response.active(),
-            response.createdAt() != null ? response.createdAt() : LocalDateTime.now(),
-            response.updatedAt() != null ? response.updatedAt() : LocalDateTime.now()
+            // Sem data na API externa, fica nula: um now() aqui mudaria o ETag e o Last-Modified a cada leitura
+            response.createdAt(),
+            response.updatedAt()
         );
     }
 
@@ -0,0 +1,110 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.output.RouteApiPort;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.concurrency.Interruptible;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Decorator de {@link RouteApiPort} que converte falhas das consultas por ID em respostas de fallback
+ * (rota ausente, sem metadados, inativa).
+ * <p>
+ * Fica por fora do {@link CachingRouteApiAdapter}: o cache só recebe respostas reais da API externa,
+ * e uma indisponibilidade curta não vira fallback cacheado até a expiração da entrada.
+ */
+public class FallbackRouteApiAdapter implements RouteApiPort {
+
+    private final RouteApiPort delegate;
+
+    public FallbackRouteApiAdapter(RouteApiPort delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Route>> findRouteByIdAsync(RouteId routeId) {
+        CompletableFuture<Optional<Route>> call = delegate.findRouteByIdAsync(routeId);
+        return Interruptible.cancelling(call.exceptionally(e -> {
+            // Log error and return empty
+            System.err.println("Error fetching route " + routeId + ": " + e.getMessage());
+            return Optional.empty();
+        }), call);
+    }
+
+    @Override
+    public CompletableFuture<List<Route>> findAllRoutesAsync(RouteFilter filter) {
+        return delegate.findAllRoutesAsync(filter);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer) {
+        return delegate.streamAllRoutesAsync(filter, consumer);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Long>> tagFacetsAsync(RouteFilter filter) {
+        return delegate.tagFacetsAsync(filter);
+    }
+
+    @Override
+    public boolean supportsCursorPagination() {
+        return delegate.supportsCursorPagination();
+    }
+
+    @Override
+    public CompletableFuture<Optional<Route>> enrichRouteMetadataAsync(Route route) {
+        return findRouteMetadataAsync(route.id())
+            .thenApply(metadata -> Optional.of(route.withAdditionalMetadata(metadata)));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> findRouteMetadataAsync(RouteId routeId) {
+        CompletableFuture<Map<String, Object>> call = delegate.findRouteMetadataAsync(routeId);
+        return Interruptible.cancelling(call.exceptionally(e -> {
+            // Log error and return no metadata
+            System.err.println("Error fetching route metadata for " + routeId + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }), call);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId) {
+        CompletableFuture<Boolean> call = delegate.isRouteActiveAsync(routeId);
+        return Interruptible.cancelling(call.exceptionally(e -> {
+            // Log error and return false
+            System.err.println("Error checking route status for " + routeId + ": " + e.getMessage());
+            return false;
+        }), call);
+    }
+
+    /**
+     * Rotas que o delegate deixou fora do mapa, ou todas quando a consulta falha, ficam inativas
+     */
+    @Override
+    public CompletableFuture<Map<RouteId, Boolean>> areRoutesActiveAsync(Collection<RouteId> routeIds) {
+        CompletableFuture<Map<RouteId, Boolean>> call = delegate.areRoutesActiveAsync(routeIds);
+        return Interruptible.cancelling(call
+            .exceptionally(e -> {
+                // Log error and return false
+                System.err.println("Error checking route status for " + routeIds + ": " + e.getMessage());
+                return Collections.emptyMap();
+            })
+            .thenApply(statuses -> {
+                if (statuses.keySet().containsAll(routeIds)) {
+                    return statuses;
+                }
+                Map<RouteId, Boolean> completed = new HashMap<>(statuses);
+                routeIds.forEach(routeId -> completed.putIfAbsent(routeId, false));
+                return completed;
+            }), call);
+    }
+}
@@ -0,0 +1,82 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import guichafy.sample_api.infrastructure.catalog.EmailIndex;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator de {@link UserApiPort} que verifica emails duplicados no {@link EmailIndex} local,
+ * sem baixar a coleção de usuários a cada cadastro. Antes da primeira carga do índice,
+ * a verificação segue para o delegate.
+ */
+public class IndexedEmailUserApiAdapter implements UserApiPort {
+
+    private final UserApiPort delegate;
+    private final EmailIndex emailIndex;
+
+    public IndexedEmailUserApiAdapter(UserApiPort delegate, EmailIndex emailIndex) {
+        this.delegate = delegate;
+        this.emailIndex = emailIndex;
+    }
+
+    @Override
+    public Optional<User> findUserById(UserId userId) {
+        return delegate.findUserById(userId);
+    }
+
+    @Override
+    public User saveUser(User user) {
+        User savedUser = delegate.saveUser(user);
+        emailIndex.add(savedUser.email().value());
+        return savedUser;
+    }
+
+    @Override
+    public void notifyUserCreated(User user) {
+        delegate.notifyUserCreated(user);
+    }
+
+    @Override
+    public boolean emailExists(String email) {
+        if (!emailIndex.isLoaded()) {
+            return delegate.emailExists(email);
+        }
+        return emailIndex.contains(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (!emailIndex.isLoaded()) {
+            return delegate.findExistingEmails(emails);
+        }
+        return emails.stream()
+            .filter(emailIndex::contains)
+            .map(email -> email.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<User> saveUsers(List<User> users) {
+        List<User> savedUsers = delegate.saveUsers(users);
+        savedUsers.forEach(user -> emailIndex.add(user.email().value()));
+        return savedUsers;
+    }
+
+    @Override
+    public void notifyUsersCreated(List<User> users) {
+        delegate.notifyUsersCreated(users);
+    }
+
+    @Override
+    public List<String> findEmails(int offset, int limit) {
+        return delegate.findEmails(offset, limit);
+    }
+}
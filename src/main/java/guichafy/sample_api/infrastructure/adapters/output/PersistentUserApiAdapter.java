@@ -0,0 +1,83 @@
+package guichafy.sample_api.infrastructure.adapters.output;
+
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import guichafy.sample_api.infrastructure.storage.UserLog;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator de {@link UserApiPort} que persiste os usuários salvos no {@link UserLog} local.
+ * A API externa não guarda cadastros, então a busca por ID consulta o log antes do delegate,
+ * e a verificação de email considera também os emails já gravados no log.
+ */
+public class PersistentUserApiAdapter implements UserApiPort {
+
+    private final UserApiPort delegate;
+    private final UserLog userLog;
+    private final Set<String> storedEmails = ConcurrentHashMap.newKeySet();
+
+    public PersistentUserApiAdapter(UserApiPort delegate, UserLog userLog) {
+        this.delegate = delegate;
+        this.userLog = userLog;
+        storedEmails.addAll(userLog.recoveredEmails());
+    }
+
+    @Override
+    public Optional<User> findUserById(UserId userId) {
+        return userLog.find(userId).or(() -> delegate.findUserById(userId));
+    }
+
+    @Override
+    public User saveUser(User user) {
+        User savedUser = delegate.saveUser(user);
+        userLog.append(savedUser);
+        storedEmails.add(savedUser.email().value());
+        return savedUser;
+    }
+
+    @Override
+    public void notifyUserCreated(User user) {
+        delegate.notifyUserCreated(user);
+    }
+
+    @Override
+    public boolean emailExists(String email) {
+        return storedEmails.contains(email.toLowerCase(Locale.ROOT)) || delegate.emailExists(email);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>(delegate.findExistingEmails(emails));
+        emails.stream()
+            .map(email -> email.toLowerCase(Locale.ROOT))
+            .filter(storedEmails::contains)
+            .forEach(existing::add);
+        return existing;
+    }
+
+    @Override
+    public List<User> saveUsers(List<User> users) {
+        List<User> savedUsers = delegate.saveUsers(users);
+        userLog.appendAll(savedUsers);
+        savedUsers.forEach(user -> storedEmails.add(user.email().value()));
+        return savedUsers;
+    }
+
+    @Override
+    public void notifyUsersCreated(List<User> users) {
+        delegate.notifyUsersCreated(users);
+    }
+
+    @Override
+    public List<String> findEmails(int offset, int limit) {
+        return delegate.findEmails(offset, limit);
+    }
+}
@@ -1,36 +1,66 @@
 package guichafy.sample_api.infrastructure.adapters.output;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guichafy.sample_api.application.ports.input.TodoFilter;
+import guichafy.sample_api.application.ports.input.TodoStats;
 import guichafy.sample_api.application.ports.output.TodoApiPort;
 import guichafy.sample_api.domain.entities.Todo;
 import guichafy.sample_api.domain.valueobjects.TodoId;
+import guichafy.sample_api.infrastructure.concurrency.Bulkhead;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 @Component
 public class TodoAdapter implements TodoApiPort {
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
     private final String baseUrl;
+    private final Bulkhead bulkhead;
 
-    public TodoAdapter(RestTemplate restTemplate,
-                       @Value("${api.jsonplaceholder.base-url:https://jsonplaceholder.typicode.com}") String baseUrl) {
+    public TodoAdapter(RestTemplate restTemplate, String baseUrl) {
+        this(restTemplate, Jackson2ObjectMapperBuilder.json().build(), baseUrl,
+            new Bulkhead("todos", Integer.MAX_VALUE, Runnable::run));
+    }
+
+    @Autowired
+    public TodoAdapter(@Qualifier("jsonPlaceholderRestTemplate") RestTemplate restTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${api.jsonplaceholder.base-url:https://jsonplaceholder.typicode.com}") String baseUrl,
+                       @Qualifier("jsonPlaceholderBulkhead") Bulkhead bulkhead) {
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
         this.baseUrl = baseUrl;
+        this.bulkhead = bulkhead;
     }
 
     @Override
     public List<Todo> findAllTodos() {
         try {
             String url = baseUrl + "/todos";
-            JsonPlaceholderTodoDto[] dtos = restTemplate.getForObject(url, JsonPlaceholderTodoDto[].class);
+            JsonPlaceholderTodoDto[] dtos = bulkhead.call(() -> restTemplate.getForObject(url, JsonPlaceholderTodoDto[].class));
             if (dtos == null) {
                 return Collections.emptyList();
             }
@@ -42,11 +72,61 @@ public class TodoAdapter implements TodoApiPort {
         }
     }
 
+    /**
+     * Lê o array JSON elemento a elemento, entregando cada todo sem manter a resposta inteira em memória
+     */
+    @Override
+    public void forEachTodo(Consumer<Todo> consumer) {
+        try {
+            URI uri = URI.create(baseUrl + "/todos");
+            bulkhead.call(() -> restTemplate.<Void>execute(
+                uri,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    readTodos(response.getBody(), consumer);
+                    return null;
+                }
+            ));
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching todos from external API", e);
+        }
+    }
+
+    /**
+     * A API externa filtra por userId e completed; o prefixo de título e a paginação são aplicados aqui
+     */
+    @Override
+    public List<Todo> findTodos(TodoFilter filter) {
+        try {
+            UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + "/todos");
+            if (filter.userId() != null) {
+                builder.queryParam("userId", filter.userId());
+            }
+            if (filter.completed() != null) {
+                builder.queryParam("completed", filter.completed());
+            }
+            URI uri = builder.encode().build().toUri();
+            JsonPlaceholderTodoDto[] dtos = bulkhead.call(() -> restTemplate.getForObject(uri, JsonPlaceholderTodoDto[].class));
+            if (dtos == null) {
+                return Collections.emptyList();
+            }
+            return Arrays.stream(dtos)
+                    .map(this::mapToTodo)
+                    .filter(filter::matches)
+                    .skip(filter.offset())
+                    .limit(filter.size() != null ? filter.size() : Long.MAX_VALUE)
+                    .toList();
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching todos from external API", e);
+        }
+    }
+
     @Override
     public Optional<Todo> findTodoById(TodoId todoId) {
         try {
             String url = baseUrl + "/todos/" + todoId.value();
-            JsonPlaceholderTodoDto dto = restTemplate.getForObject(url, JsonPlaceholderTodoDto.class);
+            JsonPlaceholderTodoDto dto = bulkhead.call(() -> restTemplate.getForObject(url, JsonPlaceholderTodoDto.class));
             if (dto == null) {
                 return Optional.empty();
             }
@@ -61,6 +141,39 @@ public class TodoAdapter implements TodoApiPort {
         }
     }
 
+    /**
+     * A API externa não agrega; baixa a coleção e conta aqui
+     */
+    @Override
+    public List<TodoStats> todoStatsByUser() {
+        Map<Long, long[]> counts = new TreeMap<>();
+        for (Todo todo : findAllTodos()) {
+            long[] count = counts.computeIfAbsent(todo.userId(), key -> new long[2]);
+            count[0]++;
+            if (todo.completed()) {
+                count[1]++;
+            }
+        }
+        return counts.entrySet().stream()
+                .map(entry -> new TodoStats(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .toList();
+    }
+
+    private void readTodos(InputStream body, Consumer<Todo> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of todos but got " + token);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(mapToTodo(parser.readValueAs(JsonPlaceholderTodoDto.class)));
+            }
+        }
+    }
+
     private Todo mapToTodo(JsonPlaceholderTodoDto dto) {
         return new Todo(
             TodoId.of(String.valueOf(dto.id())),
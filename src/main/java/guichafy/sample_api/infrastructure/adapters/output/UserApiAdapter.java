@@ -4,32 +4,44 @@ import guichafy.sample_api.application.ports.output.UserApiPort;
 import guichafy.sample_api.domain.entities.User;
 import guichafy.sample_api.domain.valueobjects.Email;
 import guichafy.sample_api.domain.valueobjects.UserId;
+import guichafy.sample_api.infrastructure.concurrency.Bulkhead;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class UserApiAdapter implements UserApiPort {
 
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final Bulkhead bulkhead;
 
-    public UserApiAdapter(RestTemplate restTemplate, 
-                         @Value("${api.jsonplaceholder.base-url:https://jsonplaceholder.typicode.com}") String baseUrl) {
+    public UserApiAdapter(@Qualifier("jsonPlaceholderRestTemplate") RestTemplate restTemplate,
+                         @Value("${api.jsonplaceholder.base-url:https://jsonplaceholder.typicode.com}") String baseUrl,
+                         @Qualifier("jsonPlaceholderBulkhead") Bulkhead bulkhead) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
+        this.bulkhead = bulkhead;
     }
 
     @Override
     public Optional<User> findUserById(UserId userId) {
         try {
             String url = baseUrl + "/users/" + userId.value();
-            JsonPlaceholderUserDto userDto = restTemplate.getForObject(url, JsonPlaceholderUserDto.class);
+            JsonPlaceholderUserDto userDto = bulkhead.call(() -> restTemplate.getForObject(url, JsonPlaceholderUserDto.class));
             
             if (userDto == null) {
                 return Optional.empty();
@@ -67,7 +79,7 @@ public class UserApiAdapter implements UserApiPort {
             // vamos buscar todos os usuários (simulação simples)
             // Em uma implementação real, você teria um endpoint específico para isso
             String url = baseUrl + "/users";
-            JsonPlaceholderUserDto[] users = restTemplate.getForObject(url, JsonPlaceholderUserDto[].class);
+            JsonPlaceholderUserDto[] users = bulkhead.call(() -> restTemplate.getForObject(url, JsonPlaceholderUserDto[].class));
             
             if (users == null) {
                 return false;
@@ -80,13 +92,72 @@ public class UserApiAdapter implements UserApiPort {
         }
     }
 
+    /**
+     * Uma única busca da coleção de usuários para todo o lote
+     */
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        try {
+            String url = baseUrl + "/users";
+            JsonPlaceholderUserDto[] users = bulkhead.call(() -> restTemplate.getForObject(url, JsonPlaceholderUserDto[].class));
+
+            if (users == null) {
+                return Collections.emptySet();
+            }
+
+            Set<String> candidates = emails.stream()
+                    .map(email -> email.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            return Arrays.stream(users)
+                    .map(JsonPlaceholderUserDto::email)
+                    .filter(Objects::nonNull)
+                    .map(email -> email.toLowerCase(Locale.ROOT))
+                    .filter(candidates::contains)
+                    .collect(Collectors.toSet());
+        } catch (Exception e) {
+            throw new RuntimeException("Error checking email existence in external API", e);
+        }
+    }
+
+    @Override
+    public List<User> saveUsers(List<User> users) {
+        // Mesmo comportamento simulado de saveUser, com uma única chamada por lote
+        System.out.println("Saving users (mock): " + users.size());
+        return users;
+    }
+
+    @Override
+    public void notifyUsersCreated(List<User> users) {
+        System.out.println("Users created notification: " + users.size());
+    }
+
+    @Override
+    public List<String> findEmails(int offset, int limit) {
+        try {
+            String url = baseUrl + "/users?_start=" + offset + "&_limit=" + limit;
+            JsonPlaceholderUserDto[] users = bulkhead.call(() -> restTemplate.getForObject(url, JsonPlaceholderUserDto[].class));
+
+            if (users == null) {
+                return Collections.emptyList();
+            }
+
+            return Arrays.stream(users)
+                    .map(JsonPlaceholderUserDto::email)
+                    .filter(Objects::nonNull)
+                    .toList();
+        } catch (Exception e) {
+            throw new RuntimeException("Error fetching user emails from external API", e);
+        }
+    }
+
     private User mapToUser(JsonPlaceholderUserDto dto) {
         return new User(
             UserId.of(String.valueOf(dto.id())),
             dto.name(),
             Email.of(dto.email()),
-            LocalDateTime.now(), // API externa não tem essa informação
-            LocalDateTime.now()  // API externa não tem essa informação
+            // API externa não tem essas datas; sem elas não há Last-Modified e o ETag não muda a cada leitura
+            null,
+            null
         );
     }
 
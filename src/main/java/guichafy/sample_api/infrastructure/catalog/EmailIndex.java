@@ -0,0 +1,120 @@
+package guichafy.sample_api.infrastructure.catalog;
+
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice local dos emails já cadastrados, normalizados em minúsculas.
+ * <p>
+ * A primeira carga percorre todos os usuários da API externa em páginas; as recargas seguintes
+ * buscam apenas a partir do último offset lido, já que a API acrescenta usuários ao final.
+ * Emails de usuários salvos por esta instância entram no índice na hora.
+ * Um filtro de Bloom responde os negativos (o caso comum de um email novo) sem consultar o set;
+ * quando o set passa do dobro da capacidade prevista, o filtro é reconstruído a partir dele.
+ */
+public class EmailIndex implements MeterBinder {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final UserApiPort source;
+    private final int pageSize;
+    private final Set<String> emails = ConcurrentHashMap.newKeySet();
+    private volatile BloomFilter bloomFilter;
+    private volatile int bloomCapacity;
+    private volatile boolean loaded;
+    private int nextOffset;
+    private Counter bloomNegatives;
+
+    public EmailIndex(UserApiPort source, int pageSize, int expectedEmails) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.bloomCapacity = Math.max(1, expectedEmails);
+        this.bloomFilter = new BloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Só responde depois da primeira carga completa
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean contains(String email) {
+        String normalized = normalize(email);
+        if (!bloomFilter.mightContain(normalized)) {
+            if (bloomNegatives != null) {
+                bloomNegatives.increment();
+            }
+            return false;
+        }
+        return emails.contains(normalized);
+    }
+
+    public void add(String email) {
+        String normalized = normalize(email);
+        if (emails.add(normalized)) {
+            bloomFilter.put(normalized);
+            if (emails.size() > bloomCapacity * 2) {
+                resizeBloomFilter();
+            }
+        }
+    }
+
+    /**
+     * Lê as páginas a partir do último offset até encontrar uma página incompleta
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.email-index.refresh-interval:1m}")
+    public synchronized void refresh() {
+        try {
+            List<String> page;
+            do {
+                page = source.findEmails(nextOffset, pageSize);
+                page.forEach(this::add);
+                nextOffset += page.size();
+            } while (page.size() == pageSize);
+            loaded = true;
+        } catch (Exception e) {
+            // Continua do mesmo offset na próxima recarga
+            System.err.println("Error refreshing email index: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.email-index.size", emails, Set::size)
+            .description("Emails no índice local")
+            .register(registry);
+        bloomNegatives = Counter.builder("user.email-index.bloom-negatives")
+            .description("Consultas respondidas pelo filtro de Bloom sem consultar o set")
+            .register(registry);
+    }
+
+    /**
+     * Novas inserções concorrentes vão para o filtro antigo e também estão no set, que é copiado
+     * depois da troca; nenhum email do set fica fora do filtro publicado
+     */
+    private synchronized void resizeBloomFilter() {
+        if (emails.size() <= bloomCapacity * 2) {
+            return;
+        }
+        int capacity = emails.size() * 2;
+        BloomFilter resized = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        emails.forEach(resized::put);
+        bloomFilter = resized;
+        bloomCapacity = capacity;
+        emails.forEach(resized::put);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
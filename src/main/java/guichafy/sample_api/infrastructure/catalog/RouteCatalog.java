@@ -0,0 +1,118 @@
+package guichafy.sample_api.infrastructure.catalog;
+
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.output.RouteApiPort;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Mantém em memória o catálogo completo de rotas, recarregado periodicamente em background.
+ * <p>
+ * Cada recarga monta um {@link RouteCatalogSnapshot} novo e o publica com uma troca atômica de
+ * referência, então leitores nunca bloqueiam nem enxergam um catálogo pela metade. Se a recarga
+ * falhar, o snapshot anterior continua valendo.
+ */
+public class RouteCatalog implements MeterBinder {
+
+    private final RouteApiPort source;
+    private final int pageSize;
+    private final AtomicReference<RouteCatalogSnapshot> current = new AtomicReference<>();
+    private final List<Consumer<RouteCatalogSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    public RouteCatalog(RouteApiPort source, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Snapshot atual, vazio enquanto a primeira carga não terminar
+     */
+    public Optional<RouteCatalogSnapshot> snapshot() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Registra um listener chamado, na thread da recarga, a cada novo snapshot publicado.
+     * Se já houver um snapshot, o listener é chamado imediatamente com ele
+     */
+    public void addListener(Consumer<RouteCatalogSnapshot> listener) {
+        listeners.add(listener);
+        snapshot().ifPresent(listener);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.route-catalog.refresh-interval:1m}")
+    public void refresh() {
+        try {
+            RouteCatalogSnapshot snapshot = load();
+            current.set(snapshot);
+            notifyListeners(snapshot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Mantém o snapshot anterior
+            System.err.println("Error refreshing route catalog: " + e.getMessage());
+        }
+    }
+
+    private void notifyListeners(RouteCatalogSnapshot snapshot) {
+        for (Consumer<RouteCatalogSnapshot> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception e) {
+                // Um listener com erro não impede os demais
+                System.err.println("Error notifying route catalog listener: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Percorre as páginas da API externa até receber uma página vazia ou sem rotas novas.
+     * Uma página menor que {@code pageSize} não encerra a carga: a API pode limitar o tamanho da página
+     */
+    private RouteCatalogSnapshot load() throws InterruptedException, ExecutionException {
+        Map<RouteId, Route> routes = new LinkedHashMap<>();
+        for (int page = 0; ; page++) {
+            int knownRoutes = routes.size();
+
+            source.streamAllRoutesAsync(RouteFilter.withPagination(page, pageSize), route -> routes.put(route.id(), route))
+                .get();
+
+            // Uma página sem rotas novas indica o fim ou que a API ignorou a paginação
+            if (routes.size() == knownRoutes) {
+                break;
+            }
+        }
+        return RouteCatalogSnapshot.of(routes.values(), Instant.now());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("route.catalog.size", this, catalog -> catalog.snapshot().map(RouteCatalogSnapshot::size).orElse(0))
+            .description("Rotas no snapshot local do catálogo")
+            .register(registry);
+        Gauge.builder("route.catalog.age", this, catalog -> catalog.snapshot()
+                .map(snapshot -> (double) Duration.between(snapshot.loadedAt(), Instant.now()).toSeconds())
+                .orElse(Double.NaN))
+            .description("Segundos desde a última carga do catálogo")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+}
@@ -0,0 +1,331 @@
+package guichafy.sample_api.infrastructure.catalog;
+
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.input.TagMatchMode;
+import guichafy.sample_api.domain.entities.Route;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Cópia imutável do catálogo completo de rotas, com índices secundários para responder
+ * consultas de {@link RouteFilter} localmente.
+ * <p>
+ * As rotas ficam ordenadas por {@code RouteId} e são referenciadas por posição (ordinal).
+ * Cada índice (método HTTP, status ativo, tag e trigrama do path) guarda um bitmap comprimido
+ * (Roaring) dos ordinais, então combinar filtros é uma sequência de AND/OR/ANDNOT entre bitmaps
+ * e a paginação começa direto no n-ésimo candidato via {@code select}.
+ * <p>
+ * Para {@code pathContains} o índice de trigramas é feito sobre o path em minúsculas. A consulta
+ * intersecta os bitmaps dos trigramas do fragmento e confirma cada candidato com {@code contains},
+ * já que a interseção garante apenas que todos os trigramas aparecem, não que aparecem em sequência.
+ */
+public final class RouteCatalogSnapshot {
+
+    private static final int GRAM = 3;
+
+    private final Route[] routes;
+    private final String[] lowerCasePaths;
+    private final Map<String, RoaringBitmap> byMethod;
+    private final Map<String, RoaringBitmap> byTag;
+    private final Map<Long, RoaringBitmap> byTrigram;
+    private final RoaringBitmap active;
+    private final RoaringBitmap inactive;
+    private final Instant loadedAt;
+
+    private RouteCatalogSnapshot(Route[] routes, Instant loadedAt) {
+        this.routes = routes;
+        this.loadedAt = loadedAt;
+        this.lowerCasePaths = new String[routes.length];
+
+        Map<String, RoaringBitmap> methods = new HashMap<>();
+        Map<String, RoaringBitmap> tags = new HashMap<>();
+        Map<Long, RoaringBitmap> trigrams = new HashMap<>();
+        RoaringBitmap activeOrdinals = new RoaringBitmap();
+        RoaringBitmap inactiveOrdinals = new RoaringBitmap();
+        for (int ordinal = 0; ordinal < routes.length; ordinal++) {
+            Route route = routes[ordinal];
+            String path = route.path().toLowerCase(Locale.ROOT);
+            lowerCasePaths[ordinal] = path;
+
+            methods.computeIfAbsent(normalizeMethod(route.method()), key -> new RoaringBitmap()).add(ordinal);
+            (route.isActive() ? activeOrdinals : inactiveOrdinals).add(ordinal);
+            if (route.tags() != null) {
+                for (String tag : route.tags()) {
+                    tags.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+                }
+            }
+            for (int i = 0; i + GRAM <= path.length(); i++) {
+                trigrams.computeIfAbsent(trigram(path, i), key -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        this.byMethod = Map.copyOf(optimize(methods));
+        this.byTag = Map.copyOf(optimize(tags));
+        this.byTrigram = optimize(trigrams);
+        activeOrdinals.runOptimize();
+        inactiveOrdinals.runOptimize();
+        this.active = activeOrdinals;
+        this.inactive = inactiveOrdinals;
+    }
+
+    public static RouteCatalogSnapshot of(Collection<Route> routes, Instant loadedAt) {
+        Route[] sorted = routes.toArray(new Route[0]);
+        Arrays.sort(sorted, Comparator.comparing(route -> route.id().value()));
+        return new RouteCatalogSnapshot(sorted, loadedAt);
+    }
+
+    public int size() {
+        return routes.length;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Todas as rotas, na ordem de {@code RouteId}
+     */
+    public List<Route> routes() {
+        return Collections.unmodifiableList(Arrays.asList(routes));
+    }
+
+    /**
+     * Aplica o filtro e a paginação sobre o catálogo. Com cursor ({@code afterRouteId}) a busca
+     * começa por busca binária no array ordenado, e o offset de página passa a contar a partir dele
+     */
+    public List<Route> query(RouteFilter filter) {
+        RoaringBitmap candidates = candidates(filter);
+        IntPredicate residual = residualPredicate(filter);
+
+        int start = filter.afterRouteId() != null ? firstOrdinalAfter(filter.afterRouteId()) : 0;
+        long offset = filter.page() != null && filter.size() != null ? (long) filter.page() * filter.size() : 0;
+        int limit = filter.size() != null ? filter.size() : Integer.MAX_VALUE;
+
+        if (residual == null) {
+            // Só há filtros indexados: a página começa direto no candidato de posição offset após o cursor
+            long skippedByCursor = candidates != null && start > 0 ? candidates.rank(start - 1) : start;
+            long total = candidates != null ? candidates.getLongCardinality() : routes.length;
+            long remaining = total - skippedByCursor;
+            if (offset >= remaining) {
+                return Collections.emptyList();
+            }
+            List<Route> page = new ArrayList<>((int) Math.min(limit, remaining - offset));
+            if (candidates == null) {
+                int from = (int) (start + offset);
+                int to = (int) Math.min(routes.length, from + (long) limit);
+                for (int ordinal = from; ordinal < to; ordinal++) {
+                    page.add(routes[ordinal]);
+                }
+                return page;
+            }
+            PeekableIntIterator iterator = candidates.getIntIterator();
+            iterator.advanceIfNeeded(candidates.select((int) (skippedByCursor + offset)));
+            while (iterator.hasNext() && page.size() < limit) {
+                page.add(routes[iterator.next()]);
+            }
+            return page;
+        }
+
+        List<Route> page = new ArrayList<>(Math.min(limit, 256));
+        long skipped = 0;
+        PeekableIntIterator iterator = null;
+        if (candidates != null) {
+            iterator = candidates.getIntIterator();
+            iterator.advanceIfNeeded(start);
+        }
+        int next = start;
+        while (page.size() < limit) {
+            int ordinal;
+            if (iterator != null) {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                ordinal = iterator.next();
+            } else {
+                if (next >= routes.length) {
+                    break;
+                }
+                ordinal = next++;
+            }
+            if (!residual.test(ordinal)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(routes[ordinal]);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Primeiro ordinal cujo ID é maior que o informado (busca binária sobre a ordenação por {@code RouteId})
+     */
+    private int firstOrdinalAfter(String routeId) {
+        int low = 0;
+        int high = routes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (routes[mid].id().value().compareTo(routeId) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Quantidade de rotas por tag entre as que atendem ao filtro (a paginação é ignorada),
+     * ordenada da tag mais frequente para a menos frequente. Tags sem nenhuma rota são omitidas
+     */
+    public Map<String, Long> tagFacets(RouteFilter filter) {
+        RoaringBitmap matching = matching(filter);
+
+        List<Map.Entry<String, Long>> counts = new ArrayList<>(byTag.size());
+        byTag.forEach((tag, ordinals) -> {
+            long count = matching == null
+                ? ordinals.getLongCardinality()
+                : RoaringBitmap.andCardinality(ordinals, matching);
+            if (count > 0) {
+                counts.add(Map.entry(tag, count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Long> facets = new LinkedHashMap<>();
+        counts.forEach(entry -> facets.put(entry.getKey(), entry.getValue()));
+        return facets;
+    }
+
+    /**
+     * Todos os ordinais que atendem ao filtro, com os filtros residuais já confirmados, ou null para o catálogo inteiro
+     */
+    private RoaringBitmap matching(RouteFilter filter) {
+        RoaringBitmap candidates = candidates(filter);
+        IntPredicate residual = residualPredicate(filter);
+        if (residual == null) {
+            return candidates;
+        }
+
+        RoaringBitmap verified = new RoaringBitmap();
+        if (candidates == null) {
+            for (int ordinal = 0; ordinal < routes.length; ordinal++) {
+                if (residual.test(ordinal)) {
+                    verified.add(ordinal);
+                }
+            }
+            return verified;
+        }
+        PeekableIntIterator iterator = candidates.getIntIterator();
+        while (iterator.hasNext()) {
+            int ordinal = iterator.next();
+            if (residual.test(ordinal)) {
+                verified.add(ordinal);
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * Ordinais que atendem aos filtros indexados, ou null quando não há nenhum. Os bitmaps
+     * positivos são intersectados do menor para o maior; o modo NONE de tags é aplicado por último
+     */
+    private RoaringBitmap candidates(RouteFilter filter) {
+        List<RoaringBitmap> postings = new ArrayList<>();
+        if (filter.method() != null) {
+            postings.add(byMethod.getOrDefault(normalizeMethod(filter.method()), new RoaringBitmap()));
+        }
+        if (filter.isActive() != null) {
+            postings.add(filter.isActive() ? active : inactive);
+        }
+        if (filter.pathContains() != null && filter.pathContains().length() >= GRAM) {
+            String fragment = filter.pathContains().toLowerCase(Locale.ROOT);
+            for (int i = 0; i + GRAM <= fragment.length(); i++) {
+                postings.add(byTrigram.getOrDefault(trigram(fragment, i), new RoaringBitmap()));
+            }
+        }
+        if (filter.hasTags() && filter.tagMatch() != TagMatchMode.NONE) {
+            List<String> tags = filter.tags().stream().distinct().toList();
+            List<RoaringBitmap> tagged = tagBitmaps(tags);
+            if (filter.tagMatch() == TagMatchMode.ALL) {
+                // Uma tag desconhecida em modo ALL não casa com nenhuma rota
+                postings.addAll(tagged.size() == tags.size() ? tagged : List.of(new RoaringBitmap()));
+            } else {
+                postings.add(FastAggregation.or(tagged.iterator()));
+            }
+        }
+
+        RoaringBitmap candidates = null;
+        if (!postings.isEmpty()) {
+            postings.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            candidates = postings.get(0);
+            for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+                candidates = RoaringBitmap.and(candidates, postings.get(i));
+            }
+        }
+
+        if (filter.hasTags() && filter.tagMatch() == TagMatchMode.NONE) {
+            RoaringBitmap excluded = FastAggregation.or(tagBitmaps(filter.tags()).iterator());
+            RoaringBitmap base = candidates != null ? candidates : RoaringBitmap.bitmapOfRange(0, routes.length);
+            candidates = RoaringBitmap.andNot(base, excluded);
+        }
+        return candidates;
+    }
+
+    /**
+     * Bitmaps das tags conhecidas, ignorando tags que não aparecem em nenhuma rota
+     */
+    private List<RoaringBitmap> tagBitmaps(List<String> tags) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            RoaringBitmap ordinals = byTag.get(tag);
+            if (ordinals != null) {
+                bitmaps.add(ordinals);
+            }
+        }
+        return bitmaps;
+    }
+
+    /**
+     * Filtros sem índice, avaliados sobre cada candidato
+     */
+    private IntPredicate residualPredicate(RouteFilter filter) {
+        if (filter.pathContains() != null && !filter.pathContains().isEmpty()) {
+            String fragment = filter.pathContains().toLowerCase(Locale.ROOT);
+            return ordinal -> lowerCasePaths[ordinal].contains(fragment);
+        }
+        return null;
+    }
+
+    private static <K> Map<K, RoaringBitmap> optimize(Map<K, RoaringBitmap> index) {
+        index.values().forEach(RoaringBitmap::runOptimize);
+        return index;
+    }
+
+    /**
+     * Empacota três chars UTF-16 em um long, evitando criar uma String por trigrama
+     */
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static String normalizeMethod(String method) {
+        return method.toUpperCase(Locale.ROOT);
+    }
+}
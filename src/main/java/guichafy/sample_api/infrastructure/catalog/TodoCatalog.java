@@ -0,0 +1,59 @@
+package guichafy.sample_api.infrastructure.catalog;
+
+import guichafy.sample_api.application.ports.output.TodoApiPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém em memória a coleção completa de todos, recarregada periodicamente em background
+ * com uma única chamada à API externa. As colunas são preenchidas enquanto a resposta é lida.
+ * A publicação é uma troca atômica de referência, e uma recarga com falha mantém o snapshot anterior.
+ */
+public class TodoCatalog implements MeterBinder {
+
+    private final TodoApiPort source;
+    private final AtomicReference<TodoCatalogSnapshot> current = new AtomicReference<>();
+
+    public TodoCatalog(TodoApiPort source) {
+        this.source = source;
+    }
+
+    /**
+     * Snapshot atual, vazio enquanto a primeira carga não terminar
+     */
+    public Optional<TodoCatalogSnapshot> snapshot() {
+        return Optional.ofNullable(current.get());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.todo-catalog.refresh-interval:5m}")
+    public void refresh() {
+        try {
+            TodoColumnStore.Builder columns = TodoColumnStore.builder();
+            source.forEachTodo(columns::add);
+            current.set(TodoCatalogSnapshot.of(columns.build(), Instant.now()));
+        } catch (Exception e) {
+            // Mantém o snapshot anterior
+            System.err.println("Error refreshing todo catalog: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todo.catalog.size", this, catalog -> catalog.snapshot().map(TodoCatalogSnapshot::size).orElse(0))
+            .description("Todos no snapshot local")
+            .register(registry);
+        Gauge.builder("todo.catalog.age", this, catalog -> catalog.snapshot()
+                .map(snapshot -> (double) Duration.between(snapshot.loadedAt(), Instant.now()).toSeconds())
+                .orElse(Double.NaN))
+            .description("Segundos desde a última carga dos todos")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+}
@@ -0,0 +1,212 @@
+package guichafy.sample_api.infrastructure.catalog;
+
+import guichafy.sample_api.application.ports.input.TodoFilter;
+import guichafy.sample_api.application.ports.input.TodoStats;
+import guichafy.sample_api.domain.entities.Todo;
+import guichafy.sample_api.domain.valueobjects.TodoId;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Cópia imutável da coleção de todos, com índices para responder {@link TodoFilter} localmente.
+ * <p>
+ * Os todos mantêm a ordem da API externa em um {@link TodoColumnStore} e são referenciados por
+ * posição (ordinal). Usuário e conclusão são bitmaps de ordinais; o prefixo de título é resolvido
+ * por busca binária sobre os ordinais ordenados pelos bytes do título em minúsculas, o que devolve
+ * um intervalo contíguo de ordinais.
+ */
+public final class TodoCatalogSnapshot {
+
+    private final TodoColumnStore store;
+    private final Map<Long, RoaringBitmap> byUserId;
+    private final RoaringBitmap completed;
+    private final RoaringBitmap pending;
+    private final int[] sortedTitleOrdinals;
+    private final Instant loadedAt;
+
+    private TodoCatalogSnapshot(TodoColumnStore store, Instant loadedAt) {
+        this.store = store;
+        this.loadedAt = loadedAt;
+
+        int size = store.size();
+        Map<Long, RoaringBitmap> users = new HashMap<>();
+        RoaringBitmap completedOrdinals = new RoaringBitmap();
+        RoaringBitmap pendingOrdinals = new RoaringBitmap();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            users.computeIfAbsent(store.userId(ordinal), key -> new RoaringBitmap()).add(ordinal);
+            (store.completed(ordinal) ? completedOrdinals : pendingOrdinals).add(ordinal);
+        }
+        users.values().forEach(RoaringBitmap::runOptimize);
+        completedOrdinals.runOptimize();
+        pendingOrdinals.runOptimize();
+
+        int[] byTitle = new int[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            byTitle[ordinal] = ordinal;
+        }
+        sort(byTitle, store::compareLowerCaseTitles);
+
+        this.byUserId = Map.copyOf(users);
+        this.completed = completedOrdinals;
+        this.pending = pendingOrdinals;
+        this.sortedTitleOrdinals = byTitle;
+    }
+
+    /**
+     * Falha com {@link NumberFormatException} se algum ID não for numérico
+     */
+    public static TodoCatalogSnapshot of(Collection<Todo> todos, Instant loadedAt) {
+        return of(TodoColumnStore.of(todos), loadedAt);
+    }
+
+    static TodoCatalogSnapshot of(TodoColumnStore store, Instant loadedAt) {
+        return new TodoCatalogSnapshot(store, loadedAt);
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public List<Todo> todos() {
+        List<Todo> todos = new ArrayList<>(store.size());
+        for (int ordinal = 0; ordinal < store.size(); ordinal++) {
+            todos.add(store.todo(ordinal));
+        }
+        return todos;
+    }
+
+    public Optional<Todo> findById(TodoId todoId) {
+        int ordinal = store.rowOf(todoId);
+        return ordinal >= 0 ? Optional.of(store.todo(ordinal)) : Optional.empty();
+    }
+
+    public List<TodoStats> statsByUser() {
+        return store.statsByUser();
+    }
+
+    /**
+     * Aplica o filtro e a paginação, na ordem original da API
+     */
+    public List<Todo> query(TodoFilter filter) {
+        RoaringBitmap candidates = candidates(filter);
+        long total = candidates != null ? candidates.getLongCardinality() : store.size();
+        long offset = filter.offset();
+        if (offset >= total) {
+            return Collections.emptyList();
+        }
+        int limit = filter.size() != null ? filter.size() : Integer.MAX_VALUE;
+
+        List<Todo> page = new ArrayList<>((int) Math.min(limit, total - offset));
+        if (candidates == null) {
+            int to = (int) Math.min(store.size(), offset + limit);
+            for (int ordinal = (int) offset; ordinal < to; ordinal++) {
+                page.add(store.todo(ordinal));
+            }
+            return page;
+        }
+        PeekableIntIterator iterator = candidates.getIntIterator();
+        iterator.advanceIfNeeded(candidates.select((int) offset));
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add(store.todo(iterator.next()));
+        }
+        return page;
+    }
+
+    /**
+     * Ordinais que atendem ao filtro, ou null quando não há filtro. Intersecta do menor para o maior
+     */
+    private RoaringBitmap candidates(TodoFilter filter) {
+        List<RoaringBitmap> postings = new ArrayList<>();
+        if (filter.userId() != null) {
+            postings.add(byUserId.getOrDefault(filter.userId(), new RoaringBitmap()));
+        }
+        if (filter.completed() != null) {
+            postings.add(filter.completed() ? completed : pending);
+        }
+        if (filter.titlePrefix() != null && !filter.titlePrefix().isEmpty()) {
+            postings.add(titlePrefix(filter.titlePrefix().toLowerCase(Locale.ROOT)));
+        }
+        if (postings.isEmpty()) {
+            return null;
+        }
+
+        postings.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        RoaringBitmap candidates = postings.get(0);
+        for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+            candidates = RoaringBitmap.and(candidates, postings.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * Títulos com o prefixo formam um intervalo contíguo na ordenação: do primeiro que não fica antes
+     * do prefixo até o primeiro que fica depois dele
+     */
+    private RoaringBitmap titlePrefix(String prefix) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        int from = firstOrdinal(key, 0);
+        int to = firstOrdinal(key, 1);
+        return RoaringBitmap.bitmapOfUnordered(Arrays.copyOfRange(sortedTitleOrdinals, from, to));
+    }
+
+    /**
+     * Primeira posição da ordenação cuja comparação com o prefixo é pelo menos {@code threshold}
+     */
+    private int firstOrdinal(byte[] prefix, int threshold) {
+        int low = 0;
+        int high = sortedTitleOrdinals.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Integer.signum(store.compareLowerCaseTitlePrefix(sortedTitleOrdinals[mid], prefix)) < threshold) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Merge sort estável de ordinais com um comparador primitivo, sem boxing
+     */
+    private static void sort(int[] ordinals, IntBinaryOperator comparator) {
+        mergeSort(ordinals.clone(), ordinals, 0, ordinals.length, comparator);
+    }
+
+    /**
+     * Ordena {@code target[from, to)} usando {@code source}, com o mesmo conteúdo, como área auxiliar
+     */
+    private static void mergeSort(int[] source, int[] target, int from, int to, IntBinaryOperator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(target, source, from, mid, comparator);
+        mergeSort(target, source, mid, to, comparator);
+        for (int i = from, left = from, right = mid; i < to; i++) {
+            if (right >= to || left < mid && comparator.applyAsInt(source[left], source[right]) <= 0) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package guichafy.sample_api.infrastructure.catalog;
+
+import guichafy.sample_api.application.ports.input.TodoStats;
+import guichafy.sample_api.domain.entities.Todo;
+import guichafy.sample_api.domain.valueobjects.TodoId;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Armazenamento colunar e imutável de todos, sem um objeto por linha.
+ * <p>
+ * Cada todo é uma linha: IDs e userIds ficam em {@code long[]}, a conclusão em um {@link BitSet}
+ * e os títulos em UTF-8 concatenados em uma única arena de bytes, delimitados por offsets.
+ * Uma segunda arena guarda os títulos em minúsculas, comparados byte a byte na busca por prefixo.
+ * A busca por ID usa uma tabela de endereçamento aberto com chaves {@code long}.
+ * Objetos {@link Todo} só são materializados na leitura.
+ */
+final class TodoColumnStore {
+
+    /**
+     * Abaixo disso a varredura paralela custa mais do que economiza
+     */
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
+    private final int size;
+    private final long[] ids;
+    private final long[] userIds;
+    private final BitSet completed;
+    private final byte[] titleArena;
+    private final int[] titleOffsets;
+    private final byte[] lowerCaseTitleArena;
+    private final int[] lowerCaseTitleOffsets;
+    private final long[] distinctUserIds;
+
+    private final long[] indexKeys;
+    private final int[] indexRows;
+    private final int indexMask;
+
+    private TodoColumnStore(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.userIds = Arrays.copyOf(builder.userIds, size);
+        this.completed = builder.completed;
+        this.titleArena = builder.titleArena.toByteArray();
+        this.titleOffsets = Arrays.copyOf(builder.titleOffsets, size + 1);
+        this.lowerCaseTitleArena = builder.lowerCaseTitleArena.toByteArray();
+        this.lowerCaseTitleOffsets = Arrays.copyOf(builder.lowerCaseTitleOffsets, size + 1);
+        this.distinctUserIds = Arrays.stream(userIds).sorted().distinct().toArray();
+
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        this.indexKeys = new long[capacity];
+        this.indexRows = new int[capacity];
+        this.indexMask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            index(ids[i], i);
+        }
+    }
+
+    /**
+     * Falha com {@link NumberFormatException} se algum ID não for numérico
+     */
+    static TodoColumnStore of(Collection<Todo> todos) {
+        Builder builder = builder();
+        todos.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Colunas preenchidas à medida que os todos chegam, sem uma lista intermediária
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return size;
+    }
+
+    Todo todo(int row) {
+        return new Todo(TodoId.of(Long.toString(ids[row])), userIds[row], title(row), completed.get(row));
+    }
+
+    String title(int row) {
+        return new String(titleArena, titleOffsets[row], titleOffsets[row + 1] - titleOffsets[row], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compara os títulos em minúsculas de duas linhas pelos bytes UTF-8, sem decodificá-los
+     */
+    int compareLowerCaseTitles(int left, int right) {
+        return Arrays.compareUnsigned(
+            lowerCaseTitleArena, lowerCaseTitleOffsets[left], lowerCaseTitleOffsets[left + 1],
+            lowerCaseTitleArena, lowerCaseTitleOffsets[right], lowerCaseTitleOffsets[right + 1]);
+    }
+
+    /**
+     * Zero quando o título em minúsculas da linha começa com o prefixo (em UTF-8 e já em minúsculas);
+     * fora isso, a mesma ordem de {@link #compareLowerCaseTitles}
+     */
+    int compareLowerCaseTitlePrefix(int row, byte[] prefix) {
+        int from = lowerCaseTitleOffsets[row];
+        int to = Math.min(lowerCaseTitleOffsets[row + 1], from + prefix.length);
+        return Arrays.compareUnsigned(lowerCaseTitleArena, from, to, prefix, 0, prefix.length);
+    }
+
+    long userId(int row) {
+        return userIds[row];
+    }
+
+    boolean completed(int row) {
+        return completed.get(row);
+    }
+
+    /**
+     * Linha do todo com o ID, ou -1 quando não existe (ou o ID não é numérico)
+     */
+    int rowOf(TodoId todoId) {
+        long id;
+        try {
+            id = Long.parseLong(todoId.value());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        for (int slot = slot(id); indexRows[slot] != 0; slot = (slot + 1) & indexMask) {
+            if (indexKeys[slot] == id) {
+                return indexRows[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Total e concluídos por usuário. As linhas são divididas em blocos varridos em paralelo,
+     * cada um com seus próprios contadores, somados no final
+     */
+    List<TodoStats> statsByUser() {
+        int users = distinctUserIds.length;
+        int chunks = Math.max(1, (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE);
+        IntStream chunkStream = IntStream.range(0, chunks);
+        long[] counts = (chunks > 1 ? chunkStream.parallel() : chunkStream)
+            .mapToObj(chunk -> countChunk(chunk * PARALLEL_CHUNK_SIZE, Math.min(size, (chunk + 1) * PARALLEL_CHUNK_SIZE)))
+            .reduce(new long[users * 2], TodoColumnStore::sum);
+
+        List<TodoStats> stats = new ArrayList<>(users);
+        for (int user = 0; user < users; user++) {
+            stats.add(new TodoStats(distinctUserIds[user], counts[user * 2], counts[user * 2 + 1]));
+        }
+        return stats;
+    }
+
+    /**
+     * Contadores intercalados por usuário: [total, concluídos] na posição do userId em distinctUserIds
+     */
+    private long[] countChunk(int from, int to) {
+        long[] counts = new long[distinctUserIds.length * 2];
+        for (int row = from; row < to; row++) {
+            int user = Arrays.binarySearch(distinctUserIds, userIds[row]);
+            counts[user * 2]++;
+        }
+        for (int row = completed.nextSetBit(from); row >= 0 && row < to; row = completed.nextSetBit(row + 1)) {
+            counts[Arrays.binarySearch(distinctUserIds, userIds[row]) * 2 + 1]++;
+        }
+        return counts;
+    }
+
+    private static long[] sum(long[] left, long[] right) {
+        long[] total = new long[left.length];
+        for (int i = 0; i < left.length; i++) {
+            total[i] = left[i] + right[i];
+        }
+        return total;
+    }
+
+    /**
+     * IDs repetidos apontam para a última linha, como um put em mapa
+     */
+    private void index(long id, int row) {
+        int slot = slot(id);
+        while (indexRows[slot] != 0 && indexKeys[slot] != id) {
+            slot = (slot + 1) & indexMask;
+        }
+        indexKeys[slot] = id;
+        indexRows[slot] = row + 1;
+    }
+
+    private int slot(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & indexMask;
+    }
+
+    static final class Builder {
+
+        private int size;
+        private long[] ids = new long[1024];
+        private long[] userIds = new long[1024];
+        private final BitSet completed = new BitSet();
+        private final ByteArrayOutputStream titleArena = new ByteArrayOutputStream(1024 * 32);
+        private int[] titleOffsets = new int[1025];
+        private final ByteArrayOutputStream lowerCaseTitleArena = new ByteArrayOutputStream(1024 * 32);
+        private int[] lowerCaseTitleOffsets = new int[1025];
+
+        private Builder() {
+        }
+
+        /**
+         * Falha com {@link NumberFormatException} se o ID não for numérico
+         */
+        void add(Todo todo) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                userIds = Arrays.copyOf(userIds, capacity);
+                titleOffsets = Arrays.copyOf(titleOffsets, capacity + 1);
+                lowerCaseTitleOffsets = Arrays.copyOf(lowerCaseTitleOffsets, capacity + 1);
+            }
+            ids[size] = Long.parseLong(todo.id().value());
+            userIds[size] = todo.userId();
+            completed.set(size, todo.completed());
+            titleArena.writeBytes(todo.title().getBytes(StandardCharsets.UTF_8));
+            lowerCaseTitleArena.writeBytes(todo.title().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            size++;
+            titleOffsets[size] = titleArena.size();
+            lowerCaseTitleOffsets[size] = lowerCaseTitleArena.size();
+        }
+
+        TodoColumnStore build() {
+            return new TodoColumnStore(this);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package guichafy.sample_api.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência que se ajusta à capacidade observada do sistema externo.
+ * <p>
+ * Segue o algoritmo de gradiente: uma média longa do tempo de resposta (RTT) serve de referência,
+ * e cada amostra compara essa referência com o RTT observado. Enquanto o RTT fica dentro da
+ * tolerância, o limite cresce aos poucos (raiz quadrada do limite); quando o RTT sobe, o limite
+ * encolhe na proporção do aumento. Sobrecarga explícita (timeout, 429, 503) reduz o limite de forma
+ * multiplicativa. Com o limite atingido, {@link #acquire} espera no máximo {@code maxWait} por uma
+ * vaga e então rejeita; com {@code maxWait} zero a rejeição é imediata.
+ * <p>
+ * Diferente do {@link Bulkhead}, que é um teto fixo, este limite acompanha o sistema externo.
+ */
+public class AdaptiveLimiter implements MeterBinder {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final int LONG_WINDOW = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double limit;
+    private volatile double longRttNanos;
+    private volatile int currentLimit;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, Duration maxWait) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+    }
+
+    /**
+     * Ocupa uma vaga, esperando no máximo maxWait. Retorna false quando a chamada foi rejeitada
+     */
+    public boolean acquire() {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight.get() >= currentLimit) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    return false;
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+            inFlight.incrementAndGet();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera a vaga e ajusta o limite com o RTT da chamada
+     */
+    public void onSuccess(long rttNanos) {
+        release(rttNanos, false);
+    }
+
+    /**
+     * Libera a vaga de uma chamada que indicou sobrecarga do sistema externo
+     */
+    public void onOverload() {
+        release(0, true);
+    }
+
+    /**
+     * Libera a vaga sem ajustar o limite (ex.: falha que não diz nada sobre a carga)
+     */
+    public void onIgnore() {
+        lock.lock();
+        try {
+            inFlight.decrementAndGet();
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        return currentLimit;
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private void release(long rttNanos, boolean overload) {
+        lock.lock();
+        try {
+            int concurrent = inFlight.getAndDecrement();
+            if (overload) {
+                overloaded.increment();
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else {
+                adjust(rttNanos, concurrent);
+            }
+            currentLimit = (int) limit;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long rttNanos, int concurrent) {
+        double rtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + (rtt - longRttNanos) / LONG_WINDOW;
+        // Depois de um período lento a referência ficaria alta demais; ela volta rápido quando o RTT cai
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        // Com pouca concorrência o RTT não diz nada sobre o limite, que não deve crescer à toa
+        if (concurrent < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("concurrency.limit", this, AdaptiveLimiter::limit)
+            .description("Limite atual de chamadas simultâneas ao sistema externo")
+            .tag("name", name)
+            .register(registry);
+        Gauge.builder("concurrency.limit.inflight", this, AdaptiveLimiter::inFlightCount)
+            .description("Chamadas em andamento ao sistema externo")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("concurrency.limit.rejected", rejected, LongAdder::sum)
+            .description("Chamadas rejeitadas com o limite atingido")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("concurrency.limit.overloaded", overloaded, LongAdder::sum)
+            .description("Chamadas que indicaram sobrecarga (timeout, 429, 503)")
+            .tag("name", name)
+            .register(registry);
+        Gauge.builder("concurrency.limit.rtt", this, limiter -> TimeUnit.NANOSECONDS.toMicros((long) limiter.longRttNanos) / 1000.0)
+            .description("Tempo de resposta de referência usado no ajuste do limite")
+            .baseUnit("milliseconds")
+            .tag("name", name)
+            .register(registry);
+    }
+}
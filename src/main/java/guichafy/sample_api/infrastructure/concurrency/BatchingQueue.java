@@ -0,0 +1,202 @@
+package guichafy.sample_api.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Fila limitada de eventos entregues em lote por um único consumidor, fora da thread de quem publica.
+ * <p>
+ * O consumidor roda no executor informado (Virtual Threads) e entrega um lote quando ele atinge o
+ * tamanho máximo ou quando a janela aberta pelo primeiro evento expira, o que acontecer primeiro.
+ * Com a fila cheia, {@link #offer} descarta o evento e conta o descarte em vez de bloquear quem publica.
+ * Entregas com falha são repetidas com backoff exponencial; esgotadas as tentativas, o lote é descartado.
+ * Diferente do {@link MicroBatcher}, não há resultado: é para notificações do tipo dispare-e-esqueça.
+ */
+public class BatchingQueue<T> implements MeterBinder, AutoCloseable {
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Consumer<List<T>> sink;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile Thread worker;
+
+    public BatchingQueue(String name, int capacity, int maxBatchSize, Duration window,
+                         int maxAttempts, Duration retryBackoff, Executor executor, Consumer<List<T>> sink) {
+        if (capacity <= 0 || maxBatchSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("capacity, maxBatchSize and maxAttempts must be positive");
+        }
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.sink = sink;
+        executor.execute(this::consume);
+    }
+
+    /**
+     * Enfileira sem bloquear. Retorna false quando a fila está cheia ou fechada e o evento foi descartado
+     */
+    public boolean offer(T event) {
+        if (running && queue.offer(event)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    public long deliveredCount() {
+        return delivered.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Para de aceitar eventos, entrega o que já está na fila e espera o consumidor terminar
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+        stopped.await(5, TimeUnit.SECONDS);
+    }
+
+    private void consume() {
+        worker = Thread.currentThread();
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                nextBatch(batch);
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Interrompido pelo close(); o lote em andamento e o restante da fila são entregues abaixo
+        } finally {
+            Thread.interrupted();
+            List<T> remaining = new ArrayList<>(batch);
+            queue.drainTo(remaining);
+            for (int from = 0; from < remaining.size(); from += maxBatchSize) {
+                deliverOnce(remaining.subList(from, Math.min(remaining.size(), from + maxBatchSize)));
+            }
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Espera o primeiro evento e então junta os seguintes até completar o lote ou expirar a janela
+     */
+    private void nextBatch(List<T> batch) throws InterruptedException {
+        T first = queue.take();
+        batch.add(first);
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void deliver(List<T> batch) throws InterruptedException {
+        long backoff = retryBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.accept(batch);
+                delivered.add(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    failed.add(batch.size());
+                    // Lote descartado após a última tentativa; fica contado em failed
+                    System.err.println("Error delivering " + name + " batch of " + batch.size() + ": " + e.getMessage());
+                    return;
+                }
+                retries.increment();
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    /**
+     * No encerramento não há novas tentativas, para não segurar o shutdown
+     */
+    private void deliverOnce(List<T> batch) {
+        try {
+            sink.accept(batch);
+            delivered.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            System.err.println("Error delivering " + name + " batch of " + batch.size() + " on shutdown: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("batching.queue.depth", this, BatchingQueue::depth)
+            .description("Eventos aguardando entrega")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("batching.queue.delivered", delivered, LongAdder::sum)
+            .description("Eventos entregues")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("batching.queue.dropped", dropped, LongAdder::sum)
+            .description("Eventos descartados com a fila cheia")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("batching.queue.failed", failed, LongAdder::sum)
+            .description("Eventos descartados depois de esgotar as tentativas de entrega")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("batching.queue.retries", retries, LongAdder::sum)
+            .description("Novas tentativas de entrega de lotes")
+            .tag("name", name)
+            .register(registry);
+    }
+}
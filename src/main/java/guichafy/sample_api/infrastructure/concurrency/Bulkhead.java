@@ -0,0 +1,105 @@
+package guichafy.sample_api.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limita quantas tarefas de um mesmo sistema externo executam ao mesmo tempo.
+ * <p>
+ * As tarefas rodam no executor informado (Virtual Threads); as que excedem o limite ficam
+ * aguardando uma vaga, o que é barato com Virtual Threads. Cada sistema externo tem o seu
+ * bulkhead, então a lentidão de um não consome a capacidade dos outros.
+ */
+public class Bulkhead implements Executor, MeterBinder {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    public Bulkhead(String name, int maxConcurrent, Executor executor) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Executa a tarefa de forma assíncrona respeitando o limite de concorrência
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(() -> call(() -> {
+            task.run();
+            return null;
+        }));
+    }
+
+    /**
+     * Executa a tarefa na thread atual respeitando o limite de concorrência
+     */
+    public <T> T call(Supplier<T> task) {
+        queued.incrementAndGet();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bulkhead " + name, e);
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        active.incrementAndGet();
+        try {
+            return task.get();
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Tarefas aguardando uma vaga
+     */
+    public int queuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Tarefas em execução
+     */
+    public int activeCount() {
+        return active.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bulkhead.queued", this, Bulkhead::queuedCount)
+            .description("Tarefas aguardando uma vaga no bulkhead")
+            .tag("name", name)
+            .register(registry);
+        Gauge.builder("bulkhead.active", this, Bulkhead::activeCount)
+            .description("Tarefas em execução no bulkhead")
+            .tag("name", name)
+            .register(registry);
+        Gauge.builder("bulkhead.max.concurrent", this, bulkhead -> bulkhead.maxConcurrent)
+            .description("Limite de tarefas simultâneas do bulkhead")
+            .tag("name", name)
+            .register(registry);
+    }
+}
@@ -0,0 +1,201 @@
+package guichafy.sample_api.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Envia uma segunda cópia de uma chamada idempotente quando a primeira demora mais que o percentil
+ * configurado das latências recentes; vale o primeiro resultado bem-sucedido (hedged request).
+ * <p>
+ * As latências das chamadas bem-sucedidas ficam em uma janela circular, e o atraso do hedge é
+ * recalculado a partir dela a cada {@value #RECOMPUTE_EVERY} amostras. Enquanto a janela não tem
+ * amostras suficientes, não há hedge. Um orçamento em token bucket limita a carga extra: cada
+ * chamada acumula {@code budgetRatio} de token e cada hedge consome um token inteiro.
+ * As tentativas rodam em futures interrompíveis: a perdedora é cancelada assim que há um vencedor,
+ * e cancelar o resultado cancela todas as tentativas em andamento.
+ */
+public class Hedger implements MeterBinder {
+
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final int MIN_SAMPLES = 20;
+    private static final long TOKEN = 1_000_000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final String name;
+    private final Executor executor;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long tokensPerCall;
+
+    private final long[] latencies;
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long hedgeDelayNanos = -1;
+    private final AtomicLong budget = new AtomicLong();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public Hedger(String name, Executor executor, boolean enabled, double percentile,
+                  Duration minDelay, double budgetRatio, int windowSize) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        if (budgetRatio < 0 || windowSize < MIN_SAMPLES) {
+            throw new IllegalArgumentException("budgetRatio must not be negative and windowSize must be at least " + MIN_SAMPLES);
+        }
+        this.name = name;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.tokensPerCall = (long) (budgetRatio * TOKEN);
+        this.latencies = new long[windowSize];
+    }
+
+    /**
+     * Hedger desligado: executa só a chamada original no executor
+     */
+    public static Hedger disabled(String name, Executor executor) {
+        return new Hedger(name, executor, false, 0.95, Duration.ZERO, 0, MIN_SAMPLES);
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<T> request) {
+        if (!enabled) {
+            return Interruptible.supplyAsync(request, executor);
+        }
+        calls.increment();
+        deposit();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        attempt(request, result, pending, false);
+
+        long delay = hedgeDelayNanos;
+        if (delay >= 0) {
+            // A decisão de enviar o hedge é trivial e não ocupa o executor das chamadas
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                if (!withdraw()) {
+                    budgetExhausted.increment();
+                    return;
+                }
+                hedges.increment();
+                pending.incrementAndGet();
+                attempt(request, result, pending, true);
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Atraso atual do hedge, ou -1 enquanto não há amostras suficientes
+     */
+    public long hedgeDelayMillis() {
+        long delay = hedgeDelayNanos;
+        return delay < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(delay);
+    }
+
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    public long hedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Dispara uma tentativa; ela é cancelada quando o resultado sai por outra tentativa ou é cancelado
+     */
+    private <T> void attempt(Supplier<T> request, CompletableFuture<T> result, AtomicInteger pending, boolean hedge) {
+        long start = System.nanoTime();
+        CompletableFuture<T> attempt = Interruptible.supplyAsync(request, executor);
+        result.whenComplete((value, error) -> attempt.cancel(true));
+        attempt.whenComplete((value, error) -> {
+            if (error == null) {
+                record(System.nanoTime() - start);
+                if (result.complete(value) && hedge) {
+                    hedgeWins.increment();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                // Só falha quando todas as tentativas falharam
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+    }
+
+    private void record(long latencyNanos) {
+        long count = recorded.incrementAndGet();
+        latencies[(int) ((count - 1) % latencies.length)] = latencyNanos;
+        if (count == MIN_SAMPLES || (count > MIN_SAMPLES && count % RECOMPUTE_EVERY == 0)) {
+            recomputeDelay(Math.min(count, latencies.length));
+        }
+    }
+
+    private void recomputeDelay(long samples) {
+        long[] window = Arrays.copyOf(latencies, (int) samples);
+        Arrays.sort(window);
+        long value = window[(int) Math.min(window.length - 1, Math.ceil(percentile * window.length) - 1)];
+        hedgeDelayNanos = Math.max(minDelayNanos, value);
+    }
+
+    private void deposit() {
+        budget.getAndUpdate(tokens -> Math.min(MAX_TOKENS, tokens + tokensPerCall));
+    }
+
+    private boolean withdraw() {
+        long tokens;
+        do {
+            tokens = budget.get();
+            if (tokens < TOKEN) {
+                return false;
+            }
+        } while (!budget.compareAndSet(tokens, tokens - TOKEN));
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        FunctionCounter.builder("hedge.calls", calls, LongAdder::sum)
+            .description("Chamadas elegíveis a hedge")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("hedge.sent", hedges, LongAdder::sum)
+            .description("Segundas chamadas disparadas")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("hedge.wins", hedgeWins, LongAdder::sum)
+            .description("Segundas chamadas que responderam antes da original")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("hedge.budget.exhausted", budgetExhausted, LongAdder::sum)
+            .description("Hedges não enviados por falta de orçamento")
+            .tag("name", name)
+            .register(registry);
+        Gauge.builder("hedge.delay", this, Hedger::hedgeDelayMillis)
+            .description("Atraso atual antes de enviar o hedge")
+            .baseUnit("milliseconds")
+            .tag("name", name)
+            .register(registry);
+    }
+}
@@ -0,0 +1,87 @@
+package guichafy.sample_api.infrastructure.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Futures cujo {@code cancel} interrompe a thread que executa a tarefa.
+ * <p>
+ * {@link CompletableFuture#cancel} apenas completa o future; a tarefa continua rodando e segurando
+ * conexão e thread. Aqui o cancelamento também interrompe a thread, o que, em Virtual Threads,
+ * fecha o socket bloqueado em leitura e encerra a chamada HTTP em andamento.
+ */
+public final class Interruptible {
+
+    private Interruptible() {
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runner runner = new Runner();
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                runner.interrupt();
+            }
+        });
+        executor.execute(() -> {
+            // Cancelado antes de começar (ex.: aguardando vaga no bulkhead)
+            if (!runner.start()) {
+                return;
+            }
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                runner.finish();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Faz o cancelamento de um estágio derivado (ex.: {@code exceptionally}) chegar à origem,
+     * o que {@link CompletableFuture} não faz sozinho
+     */
+    public static <T> CompletableFuture<T> cancelling(CompletableFuture<T> dependent, Future<?> source) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * Thread que executa a tarefa. O lock garante que a interrupção não atinja a thread
+     * depois que ela terminou a tarefa e foi reaproveitada
+     */
+    private static final class Runner {
+
+        private Thread thread;
+        private boolean cancelled;
+
+        synchronized boolean start() {
+            if (cancelled) {
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        synchronized void finish() {
+            thread = null;
+            // Descarta uma interrupção que chegou junto com o fim da tarefa
+            Thread.interrupted();
+        }
+
+        synchronized void interrupt() {
+            cancelled = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+}
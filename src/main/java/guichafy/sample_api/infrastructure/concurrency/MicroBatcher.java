@@ -0,0 +1,196 @@
+package guichafy.sample_api.infrastructure.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Junta consultas individuais feitas dentro de uma pequena janela de tempo em uma única chamada em lote.
+ * <p>
+ * O lote é disparado quando a janela expira ou quando atinge o tamanho máximo, o que acontecer primeiro.
+ * Sem nenhum lote em andamento, as consultas seguem na hora: a janela só é paga quando há concorrência
+ * para agrupar, e um chamador sozinho (ou um {@link #submitAll}) não espera por ela.
+ * Chaves repetidas dentro da mesma janela compartilham o mesmo resultado.
+ * <p>
+ * A janela é contada por uma thread própria, encerrada no {@link #close}.
+ */
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, CompletableFuture<Map<K, V>>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private int inFlight;
+    private boolean closed;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder submitted = new LongAdder();
+
+    public MicroBatcher(String name, Duration window, int maxBatchSize,
+                        Function<Set<K>, CompletableFuture<Map<K, V>>> batchLoader) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<V> submit(K key) {
+        return enqueue(List.of(key)).get(key);
+    }
+
+    /**
+     * Chaves cuja consulta falhou ficam fora do resultado, em vez de derrubar as demais
+     */
+    public CompletableFuture<Map<K, V>> submitAll(Collection<K> keys) {
+        Map<K, CompletableFuture<V>> futures = enqueue(keys.stream().distinct().toList());
+
+        return CompletableFuture.allOf(futures.values().stream()
+                .map(future -> future.handle((value, error) -> null))
+                .toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                Map<K, V> results = new LinkedHashMap<>();
+                futures.forEach((key, future) -> {
+                    if (!future.isCompletedExceptionally()) {
+                        results.put(key, future.join());
+                    }
+                });
+                return results;
+            });
+    }
+
+    /**
+     * Número de lotes disparados
+     */
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Número de consultas individuais recebidas
+     */
+    public long submittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * Adiciona as chaves ao lote pendente de uma vez, para que um {@link #submitAll} não seja
+     * disparado aos pedaços. Devolve uma cópia do future de cada chave
+     */
+    private Map<K, CompletableFuture<V>> enqueue(List<K> keys) {
+        submitted.add(keys.size());
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        List<Map<K, CompletableFuture<V>>> ready = new ArrayList<>();
+
+        synchronized (lock) {
+            for (K key : keys) {
+                CompletableFuture<V> future = pending.get(key);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    pending.put(key, future);
+                    if (pending.size() >= maxBatchSize) {
+                        ready.add(drain());
+                    }
+                }
+                futures.put(key, future.copy());
+            }
+            if (!pending.isEmpty()) {
+                if (closed || inFlight == 0 && ready.isEmpty()) {
+                    ready.add(drain());
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        ready.forEach(this::dispatch);
+        return futures;
+    }
+
+    /**
+     * Encerra a thread da janela. O lote pendente é disparado na hora, e consultas feitas depois
+     * disso seguem sem esperar a janela
+     */
+    @Override
+    public void close() {
+        Map<K, CompletableFuture<V>> ready;
+        synchronized (lock) {
+            closed = true;
+            ready = drain();
+        }
+        scheduler.shutdownNow();
+        dispatch(ready);
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> ready;
+        synchronized (lock) {
+            ready = drain();
+        }
+        dispatch(ready);
+    }
+
+    private Map<K, CompletableFuture<V>> drain() {
+        Map<K, CompletableFuture<V>> ready = pending;
+        pending = new LinkedHashMap<>();
+        if (!ready.isEmpty()) {
+            inFlight++;
+        }
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> ready) {
+        if (ready.isEmpty()) {
+            return;
+        }
+        batches.increment();
+
+        CompletableFuture<Map<K, V>> batch;
+        try {
+            batch = batchLoader.apply(Set.copyOf(ready.keySet()));
+        } catch (RuntimeException e) {
+            batch = CompletableFuture.failedFuture(e);
+        }
+
+        batch.whenComplete((results, error) -> {
+            synchronized (lock) {
+                inFlight--;
+            }
+            ready.forEach((key, future) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else if (results == null || !results.containsKey(key)) {
+                    future.completeExceptionally(new NoSuchElementException("No batch result for key " + key));
+                } else {
+                    future.complete(results.get(key));
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package guichafy.sample_api.infrastructure.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes idênticas em uma única execução.
+ * <p>
+ * Enquanto a chamada de uma chave está em andamento, novos chamadores recebem o resultado dela
+ * em vez de disparar outra. Assim que a chamada termina a chave é liberada, então não há cache:
+ * quem chega depois sempre dispara uma chamada nova.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Cada chamador recebe uma cópia do resultado, então cancelar a sua não afeta os demais.
+     * Quando todos cancelam, a chamada compartilhada também é cancelada
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            Flight flight = new Flight(key);
+            Flight existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                executed.increment();
+                flight.start(call);
+                return flight.waiter();
+            }
+            if (existing.join()) {
+                coalesced.increment();
+                return existing.waiter();
+            }
+            // Chamada abandonada por todos os chamadores: libera a chave e tenta de novo
+            inFlight.remove(key, existing);
+        }
+    }
+
+    /**
+     * Número de chamadas efetivamente disparadas
+     */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * Número de chamadas que reaproveitaram uma chamada já em andamento
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private final class Flight {
+
+        private final K key;
+        private final CompletableFuture<V> promise = new CompletableFuture<>();
+        private volatile CompletableFuture<V> call;
+        private int waiters = 1;
+        private boolean abandoned;
+
+        private Flight(K key) {
+            this.key = key;
+        }
+
+        private void start(Supplier<CompletableFuture<V>> supplier) {
+            try {
+                call = supplier.get();
+                call.whenComplete((value, error) -> {
+                    // Libera a chave antes de completar para que chamadas futuras não recebam um resultado antigo
+                    inFlight.remove(key, this);
+                    if (error != null) {
+                        promise.completeExceptionally(error);
+                    } else {
+                        promise.complete(value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.remove(key, this);
+                promise.completeExceptionally(e);
+            }
+        }
+
+        private synchronized boolean join() {
+            if (abandoned) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        private CompletableFuture<V> waiter() {
+            CompletableFuture<V> copy = promise.copy();
+            copy.whenComplete((value, error) -> {
+                if (copy.isCancelled()) {
+                    leave();
+                }
+            });
+            return copy;
+        }
+
+        private void leave() {
+            synchronized (this) {
+                if (--waiters > 0 || promise.isDone()) {
+                    return;
+                }
+                abandoned = true;
+            }
+            inFlight.remove(key, this);
+            CompletableFuture<V> current = call;
+            if (current != null) {
+                current.cancel(true);
+            }
+        }
+    }
+}
@@ -6,30 +6,23 @@ import guichafy.sample_api.application.ports.output.TodoApiPort;
 import guichafy.sample_api.application.usecases.RouteService;
 import guichafy.sample_api.application.usecases.UserService;
 import guichafy.sample_api.application.usecases.TodoService;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import guichafy.sample_api.infrastructure.concurrency.Bulkhead;
+import guichafy.sample_api.infrastructure.concurrency.Hedger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.support.TaskExecutorAdapter;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.Duration;
 import java.util.concurrent.Executors;
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
 
-    /**
-     * Configura RestTemplate com timeouts apropriados e Virtual Threads
-     */
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-            .setConnectTimeout(Duration.ofSeconds(10))
-            .setReadTimeout(Duration.ofSeconds(30))
-            .build();
-    }
-
     /**
      * Configura executor de tarefas assíncronas usando Virtual Threads
      * Disponível no Java 21+ com Spring Boot 3.2+
@@ -39,9 +32,50 @@ public class ApplicationConfig {
         return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
     }
 
+    /**
+     * Bulkhead das chamadas à API externa de rotas, executadas em Virtual Threads
+     */
+    @Bean
+    public Bulkhead routeApiBulkhead(
+            @Qualifier("virtualThreadTaskExecutor") AsyncTaskExecutor executor,
+            @Value("${app.external-api.bulkhead.max-concurrent:64}") int maxConcurrent
+    ) {
+        return new Bulkhead("route-api", maxConcurrent, executor);
+    }
+
+    /**
+     * Hedge dos GETs idempotentes à API de rotas: uma segunda chamada sai quando a primeira passa do
+     * percentil configurado das latências recentes, limitada a budget-ratio das chamadas
+     */
+    @Bean
+    public Hedger routeApiHedger(
+            @Qualifier("routeApiBulkhead") Bulkhead routeApiBulkhead,
+            @Value("${app.external-api.hedging.enabled:false}") boolean enabled,
+            @Value("${app.external-api.hedging.percentile:0.95}") double percentile,
+            @Value("${app.external-api.hedging.min-delay:10ms}") Duration minDelay,
+            @Value("${app.external-api.hedging.budget-ratio:0.05}") double budgetRatio,
+            @Value("${app.external-api.hedging.window-size:1000}") int windowSize
+    ) {
+        return new Hedger("route-api", routeApiBulkhead, enabled, percentile, minDelay, budgetRatio, windowSize);
+    }
+
+    /**
+     * Bulkhead das chamadas à API JSONPlaceholder (todos e usuários)
+     */
+    @Bean
+    public Bulkhead jsonPlaceholderBulkhead(
+            @Qualifier("virtualThreadTaskExecutor") AsyncTaskExecutor executor,
+            @Value("${api.jsonplaceholder.bulkhead.max-concurrent:32}") int maxConcurrent
+    ) {
+        return new Bulkhead("jsonplaceholder", maxConcurrent, executor);
+    }
+
     @Bean
-    public UserService userService(UserApiPort userApiPort) {
-        return new UserService(userApiPort);
+    public UserService userService(
+            UserApiPort userApiPort,
+            @Value("${app.users.bulk.chunk-size:500}") int bulkChunkSize
+    ) {
+        return new UserService(userApiPort, bulkChunkSize);
     }
 
     @Bean
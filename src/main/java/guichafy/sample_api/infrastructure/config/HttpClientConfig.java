@@ -0,0 +1,65 @@
+package guichafy.sample_api.infrastructure.config;
+
+import guichafy.sample_api.infrastructure.concurrency.AdaptiveLimiter;
+import guichafy.sample_api.infrastructure.config.OutboundHttpProperties.LimitSpec;
+import guichafy.sample_api.infrastructure.http.ConcurrencyLimitInterceptor;
+import guichafy.sample_api.infrastructure.http.OutboundHttpClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * Configura um RestTemplate por sistema externo, todos sobre o motor HTTP compartilhado
+ * com pool de conexões e timeouts definidos em {@code app.http.clients}. Cada um tem também um limite
+ * adaptativo de chamadas simultâneas ({@code app.http.clients.<nome>.limit}), que acompanha o RTT do sistema externo
+ */
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public OutboundHttpClients outboundHttpClients(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        return new OutboundHttpClients(properties.clients(), meterRegistry);
+    }
+
+    /**
+     * RestTemplate da API externa de rotas
+     */
+    @Bean
+    public RestTemplate routesRestTemplate(RestTemplateBuilder builder, OutboundHttpClients outboundHttpClients,
+                                           OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        return builder
+            .requestFactory(() -> outboundHttpClients.requestFactory("routes"))
+            .additionalInterceptors(concurrencyLimit("routes", properties, meterRegistry))
+            .build();
+    }
+
+    /**
+     * RestTemplate da API JSONPlaceholder (todos e usuários)
+     */
+    @Bean
+    public RestTemplate jsonPlaceholderRestTemplate(RestTemplateBuilder builder, OutboundHttpClients outboundHttpClients,
+                                                    OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        return builder
+            .requestFactory(() -> outboundHttpClients.requestFactory("jsonplaceholder"))
+            .additionalInterceptors(concurrencyLimit("jsonplaceholder", properties, meterRegistry))
+            .build();
+    }
+
+    private static List<ConcurrencyLimitInterceptor> concurrencyLimit(String name, OutboundHttpProperties properties,
+                                                                      MeterRegistry meterRegistry) {
+        OutboundHttpProperties.ClientSpec spec = properties.clients().get(name);
+        if (spec == null || !spec.limit().enabled()) {
+            return List.of();
+        }
+        LimitSpec limit = spec.limit();
+        AdaptiveLimiter limiter = new AdaptiveLimiter(name, limit.initialLimit(), limit.minLimit(), limit.maxLimit(), limit.maxWait());
+        limiter.bindTo(meterRegistry);
+        return List.of(new ConcurrencyLimitInterceptor(name, limiter));
+    }
+}
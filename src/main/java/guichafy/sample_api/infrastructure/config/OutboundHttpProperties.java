@@ -0,0 +1,58 @@
+package guichafy.sample_api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuração dos clientes HTTP de saída, um por sistema externo (ex.: {@code routes}, {@code jsonplaceholder}).
+ */
+@ConfigurationProperties(prefix = "app.http")
+public record OutboundHttpProperties(Map<String, ClientSpec> clients) {
+
+    public OutboundHttpProperties {
+        clients = clients != null ? Map.copyOf(clients) : Map.of();
+    }
+
+    /**
+     * @param connectTimeout           tempo máximo para abrir a conexão TCP/TLS
+     * @param readTimeout              tempo máximo aguardando dados da resposta
+     * @param connectionRequestTimeout tempo máximo aguardando uma conexão livre no pool
+     * @param maxConnections           conexões no pool somando todos os hosts
+     * @param maxConnectionsPerHost    conexões no pool por host
+     * @param keepAlive                tempo que uma conexão ociosa é mantida quando o servidor não informa
+     * @param idleEviction             conexões ociosas há mais tempo que isso são fechadas em background
+     * @param timeToLive               idade máxima de uma conexão, mesmo que esteja em uso constante
+     * @param http2                    usa o cliente HTTP/2 do JDK, que multiplexa as requisições em poucas conexões
+     * @param limit                    limite adaptativo de chamadas simultâneas ao sistema externo
+     */
+    public record ClientSpec(
+        @DefaultValue("10s") Duration connectTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("2s") Duration connectionRequestTimeout,
+        @DefaultValue("200") int maxConnections,
+        @DefaultValue("50") int maxConnectionsPerHost,
+        @DefaultValue("30s") Duration keepAlive,
+        @DefaultValue("1m") Duration idleEviction,
+        @DefaultValue("10m") Duration timeToLive,
+        @DefaultValue("false") boolean http2,
+        @DefaultValue LimitSpec limit
+    ) {}
+
+    /**
+     * @param enabled      liga o limite adaptativo; desligado, só o bulkhead limita a concorrência
+     * @param initialLimit limite antes das primeiras medições
+     * @param minLimit     o limite nunca desce abaixo disso, nem com o sistema externo sobrecarregado
+     * @param maxLimit     o limite nunca sobe acima disso
+     * @param maxWait      espera máxima por uma vaga antes de rejeitar a chamada; zero rejeita na hora
+     */
+    public record LimitSpec(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("100") int maxLimit,
+        @DefaultValue("50ms") Duration maxWait
+    ) {}
+}
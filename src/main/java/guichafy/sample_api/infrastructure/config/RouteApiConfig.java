@@ -0,0 +1,79 @@
+package guichafy.sample_api.infrastructure.config;
+
+import guichafy.sample_api.application.ports.output.RouteApiPort;
+import guichafy.sample_api.infrastructure.adapters.output.CachingRouteApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.CatalogRouteApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.ExternalRouteApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.FallbackRouteApiAdapter;
+import guichafy.sample_api.infrastructure.catalog.RouteCatalog;
+import guichafy.sample_api.infrastructure.sitemap.SitemapPublisher;
+import guichafy.sample_api.infrastructure.sitemap.SitemapRenderer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Monta a cadeia de decorators na frente do {@link ExternalRouteApiAdapter}.
+ * O bean primário é o que os casos de uso recebem como {@link RouteApiPort}.
+ */
+@Configuration
+@EnableConfigurationProperties(RouteCacheProperties.class)
+public class RouteApiConfig {
+
+    /**
+     * Catálogo local de rotas, carregado diretamente da API externa
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.route-catalog", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RouteCatalog routeCatalog(
+            ExternalRouteApiAdapter externalRouteApiAdapter,
+            @Value("${app.route-catalog.page-size:500}") int pageSize
+    ) {
+        return new RouteCatalog(externalRouteApiAdapter, pageSize);
+    }
+
+    /**
+     * Sitemap XML pré-renderizado a cada recarga do catálogo. Sem catálogo, /sitemap.xml responde 503
+     */
+    @Bean
+    public SitemapPublisher sitemapPublisher(
+            ObjectProvider<RouteCatalog> routeCatalog,
+            @Value("${app.sitemap.base-url}") String baseUrl,
+            @Value("${app.sitemap.max-urls-per-file:50000}") int maxUrlsPerFile
+    ) {
+        SitemapPublisher publisher = new SitemapPublisher(new SitemapRenderer(baseUrl, maxUrlsPerFile));
+        routeCatalog.ifAvailable(catalog -> catalog.addListener(publisher::publish));
+        return publisher;
+    }
+
+    @Bean
+    @Primary
+    public RouteApiPort routeApiPort(
+            ExternalRouteApiAdapter externalRouteApiAdapter,
+            ObjectProvider<RouteCatalog> routeCatalog,
+            RouteCacheProperties cacheProperties
+    ) {
+        RouteApiPort routeApiPort = externalRouteApiAdapter;
+
+        RouteCatalog catalog = routeCatalog.getIfAvailable();
+        if (catalog != null) {
+            routeApiPort = new CatalogRouteApiAdapter(routeApiPort, catalog);
+        }
+
+        if (cacheProperties.enabled()) {
+            routeApiPort = new CachingRouteApiAdapter(
+                routeApiPort,
+                cacheProperties.routes(),
+                cacheProperties.status(),
+                cacheProperties.metadata()
+            );
+        }
+
+        // Fallbacks por último, para que o cache nunca guarde uma resposta de fallback
+        return new FallbackRouteApiAdapter(routeApiPort);
+    }
+}
@@ -0,0 +1,36 @@
+package guichafy.sample_api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cache de leitura das rotas da API externa.
+ * Cada tipo de dado (rota, status e metadados) possui TTLs e tamanho próprios.
+ */
+@ConfigurationProperties(prefix = "app.external-api.cache")
+public record RouteCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    CacheSpec routes,
+    CacheSpec status,
+    CacheSpec metadata
+) {
+
+    /**
+     * @param refreshAfter idade a partir da qual a entrada é recarregada em background,
+     *                     continuando a ser servida enquanto a recarga acontece
+     * @param expireAfter  idade máxima de uma entrada antes de ser descartada
+     * @param maximumSize  número máximo de entradas (evicção W-TinyLFU)
+     */
+    public record CacheSpec(Duration refreshAfter, Duration expireAfter, long maximumSize) {
+        public CacheSpec {
+            if (refreshAfter.compareTo(expireAfter) >= 0) {
+                throw new IllegalArgumentException("refreshAfter must be shorter than expireAfter");
+            }
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("maximumSize must be positive");
+            }
+        }
+    }
+}
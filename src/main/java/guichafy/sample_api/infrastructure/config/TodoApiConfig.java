@@ -0,0 +1,35 @@
+package guichafy.sample_api.infrastructure.config;
+
+import guichafy.sample_api.application.ports.output.TodoApiPort;
+import guichafy.sample_api.infrastructure.adapters.output.CatalogTodoAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.TodoAdapter;
+import guichafy.sample_api.infrastructure.catalog.TodoCatalog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Monta a cadeia de decorators na frente do {@link TodoAdapter}.
+ * O bean primário é o que os casos de uso recebem como {@link TodoApiPort}.
+ */
+@Configuration
+public class TodoApiConfig {
+
+    /**
+     * Snapshot local dos todos, carregado diretamente da API externa
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.todo-catalog", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TodoCatalog todoCatalog(TodoAdapter todoAdapter) {
+        return new TodoCatalog(todoAdapter);
+    }
+
+    @Bean
+    @Primary
+    public TodoApiPort todoApiPort(TodoAdapter todoAdapter, ObjectProvider<TodoCatalog> todoCatalog) {
+        TodoCatalog catalog = todoCatalog.getIfAvailable();
+        return catalog != null ? new CatalogTodoAdapter(todoAdapter, catalog) : todoAdapter;
+    }
+}
@@ -0,0 +1,122 @@
+package guichafy.sample_api.infrastructure.config;
+
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.infrastructure.adapters.output.AsyncNotifyingUserApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.CachingUserApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.IndexedEmailUserApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.PersistentUserApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.UserApiAdapter;
+import guichafy.sample_api.infrastructure.catalog.EmailIndex;
+import guichafy.sample_api.infrastructure.concurrency.BatchingQueue;
+import guichafy.sample_api.infrastructure.storage.UserLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Monta a cadeia de decorators na frente do {@link UserApiAdapter}.
+ * O bean primário é o que os casos de uso recebem como {@link UserApiPort}.
+ */
+@Configuration
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class UserApiConfig {
+
+    /**
+     * Índice local de emails, carregado diretamente da API externa
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.email-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public EmailIndex emailIndex(
+            UserApiAdapter userApiAdapter,
+            @Value("${app.email-index.page-size:500}") int pageSize,
+            @Value("${app.email-index.expected-emails:100000}") int expectedEmails
+    ) {
+        return new EmailIndex(userApiAdapter, pageSize, expectedEmails);
+    }
+
+    /**
+     * Log local onde os usuários criados são persistidos
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.users.store", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public UserLog userLog(
+            @Value("${app.users.store.path:data/users.log}") Path path,
+            @Value("${app.users.store.compaction-garbage-ratio:0.5}") double compactionGarbageRatio
+    ) {
+        return new UserLog(path, compactionGarbageRatio);
+    }
+
+    /**
+     * Fila das notificações de usuário criado, entregues em lote em uma Virtual Thread
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.users.notifications", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public BatchingQueue<User> userNotificationQueue(
+            UserApiAdapter userApiAdapter,
+            @Qualifier("virtualThreadTaskExecutor") AsyncTaskExecutor executor,
+            @Value("${app.users.notifications.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.users.notifications.batch-size:100}") int batchSize,
+            @Value("${app.users.notifications.batch-window:200ms}") Duration batchWindow,
+            @Value("${app.users.notifications.max-attempts:3}") int maxAttempts,
+            @Value("${app.users.notifications.retry-backoff:100ms}") Duration retryBackoff
+    ) {
+        return new BatchingQueue<>("user-notifications", queueCapacity, batchSize, batchWindow,
+            maxAttempts, retryBackoff, executor, userApiAdapter::notifyUsersCreated);
+    }
+
+    @Bean
+    @Primary
+    public UserApiPort userApiPort(
+            UserApiAdapter userApiAdapter,
+            ObjectProvider<UserLog> userLog,
+            ObjectProvider<EmailIndex> emailIndex,
+            ObjectProvider<BatchingQueue<User>> userNotificationQueue,
+            UserCacheProperties cacheProperties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        UserApiPort userApiPort = userApiAdapter;
+
+        UserLog log = userLog.getIfAvailable();
+        if (log != null) {
+            userApiPort = new PersistentUserApiAdapter(userApiPort, log);
+        }
+
+        if (cacheProperties.enabled()) {
+            CachingUserApiAdapter caching = new CachingUserApiAdapter(
+                userApiPort,
+                cacheProperties.foundTtl(),
+                cacheProperties.notFoundTtl(),
+                cacheProperties.maximumSize()
+            );
+            // O decorator não é um bean próprio, então as métricas são registradas aqui
+            meterRegistry.ifAvailable(caching::bindTo);
+            userApiPort = caching;
+        }
+
+        EmailIndex index = emailIndex.getIfAvailable();
+        if (index != null) {
+            if (log != null) {
+                // Mesma coleta da varredura de abertura usada pelo PersistentUserApiAdapter
+                log.recoveredEmails().forEach(index::add);
+            }
+            userApiPort = new IndexedEmailUserApiAdapter(userApiPort, index);
+        }
+
+        BatchingQueue<User> notifications = userNotificationQueue.getIfAvailable();
+        if (notifications != null) {
+            userApiPort = new AsyncNotifyingUserApiAdapter(userApiPort, notifications);
+        }
+        return userApiPort;
+    }
+}
@@ -0,0 +1,30 @@
+package guichafy.sample_api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cache de busca de usuários por ID.
+ *
+ * @param foundTtl    tempo de vida de um usuário encontrado
+ * @param notFoundTtl tempo de vida de um "não encontrado" (cache negativo), normalmente mais curto
+ * @param maximumSize número máximo de entradas, somando positivas e negativas (evicção W-TinyLFU)
+ */
+@ConfigurationProperties(prefix = "app.users.cache")
+public record UserCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("5m") Duration foundTtl,
+    @DefaultValue("30s") Duration notFoundTtl,
+    @DefaultValue("10000") long maximumSize
+) {
+    public UserCacheProperties {
+        if (foundTtl.isNegative() || foundTtl.isZero() || notFoundTtl.isNegative() || notFoundTtl.isZero()) {
+            throw new IllegalArgumentException("Cache TTLs must be positive");
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package guichafy.sample_api.infrastructure.http;
+
+import guichafy.sample_api.infrastructure.concurrency.AdaptiveLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aplica o {@link AdaptiveLimiter} de um sistema externo a todas as requisições de um RestTemplate.
+ * <p>
+ * O RTT medido é o tempo até a chegada da resposta; a vaga, porém, só é liberada quando a resposta é
+ * fechada, para que leituras em streaming continuem contando como chamadas em andamento.
+ * Timeouts e respostas 429/503 contam como sobrecarga; demais falhas de I/O liberam a vaga sem ajuste.
+ */
+public class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String name;
+    private final AdaptiveLimiter limiter;
+
+    public ConcurrencyLimitInterceptor(String name, AdaptiveLimiter limiter) {
+        this.name = name;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!limiter.acquire()) {
+            throw new ConcurrencyLimitExceededException(name, limiter.limit());
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (SocketTimeoutException | HttpTimeoutException e) {
+            limiter.onOverload();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            limiter.onIgnore();
+            throw e;
+        }
+
+        long rttNanos = System.nanoTime() - start;
+        boolean overloaded = isOverloaded(response);
+        return new ReleasingResponse(response, () -> {
+            if (overloaded) {
+                limiter.onOverload();
+            } else {
+                limiter.onSuccess(rttNanos);
+            }
+        });
+    }
+
+    private static boolean isOverloaded(ClientHttpResponse response) {
+        try {
+            HttpStatusCode status = response.getStatusCode();
+            return status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS) || status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rejeição local: o limite de chamadas simultâneas ao sistema externo foi atingido
+     */
+    public static class ConcurrencyLimitExceededException extends RestClientException {
+
+        public ConcurrencyLimitExceededException(String name, int limit) {
+            super("Concurrency limit of " + limit + " reached for " + name);
+        }
+    }
+
+    /**
+     * Resposta que libera a vaga uma única vez, ao ser fechada
+     */
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Runnable release;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingResponse(ClientHttpResponse delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = release;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release.run();
+                }
+            }
+        }
+    }
+}
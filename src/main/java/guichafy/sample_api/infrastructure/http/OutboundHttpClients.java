@@ -0,0 +1,146 @@
+package guichafy.sample_api.infrastructure.http;
+
+import guichafy.sample_api.application.ports.input.RequestDeadline;
+import guichafy.sample_api.infrastructure.config.OutboundHttpProperties.ClientSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * Motor HTTP de saída compartilhado pelos adapters.
+ * <p>
+ * Cada sistema externo recebe seu próprio cliente: por padrão um pool de conexões keep-alive do
+ * Apache HttpClient (pool por host, evicção de conexões ociosas e expiradas), ou o cliente HTTP/2
+ * do JDK quando {@code http2} está habilitado. Os pools publicam métricas de uso e do tempo de
+ * espera por uma conexão ({@code http.client.connection.acquire}).
+ * <p>
+ * No cliente Apache, requisições feitas sob um {@link RequestDeadline} têm os timeouts de resposta e de
+ * espera por conexão limitados ao tempo restante do prazo; com o prazo expirado, nem chegam a sair.
+ * Só chamadas exclusivas de uma requisição recebem o prazo: as compartilhadas (cache, coalescidas,
+ * lotes) rodam sem ele e usam os timeouts configurados.
+ */
+public class OutboundHttpClients implements DisposableBean {
+
+    private final Map<String, ClientSpec> clients;
+    private final MeterRegistry meterRegistry;
+    private final List<AutoCloseable> resources = new CopyOnWriteArrayList<>();
+
+    public OutboundHttpClients(Map<String, ClientSpec> clients, MeterRegistry meterRegistry) {
+        this.clients = clients;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Cria a fábrica de requisições do sistema externo com o nome informado
+     */
+    public ClientHttpRequestFactory requestFactory(String name) {
+        ClientSpec spec = clients.get(name);
+        if (spec == null) {
+            throw new IllegalStateException("No outbound HTTP client configured for '" + name + "' (app.http.clients." + name + ")");
+        }
+        return spec.http2() ? http2RequestFactory(spec) : pooledRequestFactory(name, spec);
+    }
+
+    private ClientHttpRequestFactory pooledRequestFactory(String name, ClientSpec spec) {
+        Timer acquireTimer = Timer.builder("http.client.connection.acquire")
+            .description("Tempo aguardando uma conexão livre no pool")
+            .tag("client", name)
+            .register(meterRegistry);
+
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(acquireTimer);
+        connectionManager.setMaxTotal(spec.maxConnections());
+        connectionManager.setDefaultMaxPerRoute(spec.maxConnectionsPerHost());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(timeout(spec.connectTimeout()))
+            .setSocketTimeout(timeout(spec.readTimeout()))
+            .setTimeToLive(timeValue(spec.timeToLive()))
+            .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+            .build());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(meterRegistry);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectionRequestTimeout(timeout(spec.connectionRequestTimeout()))
+            .setResponseTimeout(timeout(spec.readTimeout()))
+            // Usado quando o servidor não envia o header Keep-Alive
+            .setConnectionKeepAlive(timeValue(spec.keepAlive()))
+            .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(timeValue(spec.idleEviction()))
+            .build();
+        resources.add(httpClient);
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> deadlineContext(name, spec, requestConfig));
+        return requestFactory;
+    }
+
+    /**
+     * Contexto com timeouts limitados ao prazo da requisição atual, ou null (configuração padrão) sem prazo
+     */
+    private static HttpContext deadlineContext(String name, ClientSpec spec, RequestConfig defaults) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (!deadline.bounded()) {
+            return null;
+        }
+        deadline.checkExpired("call to " + name);
+
+        long remainingMillis = Math.max(1, deadline.remainingNanos() / 1_000_000);
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.copy(defaults)
+            .setResponseTimeout(Timeout.ofMilliseconds(Math.min(spec.readTimeout().toMillis(), remainingMillis)))
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(Math.min(spec.connectionRequestTimeout().toMillis(), remainingMillis)))
+            .build());
+        return context;
+    }
+
+    private ClientHttpRequestFactory http2RequestFactory(ClientSpec spec) {
+        // O cliente do JDK gerencia as próprias conexões, multiplexando as requisições por host
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(spec.connectTimeout())
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        resources.add(httpClient);
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(spec.readTimeout());
+        return requestFactory;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
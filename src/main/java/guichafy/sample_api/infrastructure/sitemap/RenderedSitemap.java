@@ -0,0 +1,28 @@
+package guichafy.sample_api.infrastructure.sitemap;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sitemap pré-renderizado: documentos XML já comprimidos em gzip, indexados pelo nome do arquivo
+ * ({@code sitemap.xml}, {@code sitemap-1.xml}, ...)
+ */
+public record RenderedSitemap(
+    Map<String, byte[]> gzippedDocuments,
+    int urlCount,
+    String contentHash,
+    Instant lastModified
+) {
+    public RenderedSitemap {
+        gzippedDocuments = Map.copyOf(gzippedDocuments);
+    }
+
+    public Optional<byte[]> document(String name) {
+        return Optional.ofNullable(gzippedDocuments.get(name));
+    }
+
+    RenderedSitemap withLastModified(Instant lastModified) {
+        return new RenderedSitemap(gzippedDocuments, urlCount, contentHash, lastModified);
+    }
+}
@@ -0,0 +1,54 @@
+package guichafy.sample_api.infrastructure.sitemap;
+
+import guichafy.sample_api.infrastructure.catalog.RouteCatalogSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém o sitemap pré-renderizado, regerado a cada novo snapshot do catálogo de rotas.
+ * <p>
+ * A renderização acontece na thread da recarga do catálogo, fora do caminho das requisições:
+ * servir o sitemap é só devolver bytes já comprimidos. Se o conteúdo não mudou entre duas recargas,
+ * o {@code Last-Modified} anterior é mantido para que os crawlers continuem recebendo 304
+ */
+public class SitemapPublisher implements MeterBinder {
+
+    private final SitemapRenderer renderer;
+    private final AtomicReference<RenderedSitemap> current = new AtomicReference<>();
+
+    public SitemapPublisher(SitemapRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    public Optional<RenderedSitemap> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    public void publish(RouteCatalogSnapshot snapshot) {
+        // Last-Modified trafega com precisão de segundos
+        RenderedSitemap rendered = renderer.render(snapshot.routes(), snapshot.loadedAt().truncatedTo(ChronoUnit.SECONDS));
+        RenderedSitemap previous = current.get();
+        if (previous != null && previous.contentHash().equals(rendered.contentHash())) {
+            rendered = rendered.withLastModified(previous.lastModified());
+        }
+        current.set(rendered);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sitemap.urls", this, publisher -> publisher.current().map(RenderedSitemap::urlCount).orElse(0))
+            .description("URLs no sitemap pré-renderizado")
+            .register(registry);
+        Gauge.builder("sitemap.bytes", this, publisher -> publisher.current()
+                .map(sitemap -> sitemap.gzippedDocuments().values().stream().mapToLong(bytes -> bytes.length).sum())
+                .orElse(0L))
+            .description("Tamanho comprimido dos documentos do sitemap")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+}
@@ -0,0 +1,161 @@
+package guichafy.sample_api.infrastructure.sitemap;
+
+import guichafy.sample_api.domain.entities.Route;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gera os documentos do sitemap com um {@link XMLStreamWriter} escrevendo direto no stream gzip,
+ * sem montar a árvore XML em memória.
+ * <p>
+ * Entram apenas rotas GET ativas e sem variáveis de path ({@code /users/{id}} não é uma URL navegável).
+ * Acima de {@code maxUrlsPerFile} URLs (50.000 pelo protocolo) o {@code sitemap.xml} vira um
+ * sitemap index apontando para {@code sitemap-1.xml}, {@code sitemap-2.xml}, ...
+ */
+public class SitemapRenderer {
+
+    public static final String INDEX_DOCUMENT = "sitemap.xml";
+
+    private static final String SITEMAP_NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final String baseUrl;
+    private final int maxUrlsPerFile;
+
+    public SitemapRenderer(String baseUrl, int maxUrlsPerFile) {
+        if (maxUrlsPerFile <= 0 || maxUrlsPerFile > 50_000) {
+            throw new IllegalArgumentException("maxUrlsPerFile must be between 1 and 50000");
+        }
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.maxUrlsPerFile = maxUrlsPerFile;
+    }
+
+    public static String shardDocument(int shard) {
+        return "sitemap-" + shard + ".xml";
+    }
+
+    public RenderedSitemap render(List<Route> routes, Instant lastModified) {
+        List<Route> crawlable = routes.stream()
+            .filter(SitemapRenderer::isCrawlable)
+            .toList();
+
+        Map<String, byte[]> documents = new LinkedHashMap<>();
+        if (crawlable.size() <= maxUrlsPerFile) {
+            documents.put(INDEX_DOCUMENT, urlSet(crawlable));
+        } else {
+            int shards = (crawlable.size() + maxUrlsPerFile - 1) / maxUrlsPerFile;
+            List<LocalDateTime> shardLastModified = new ArrayList<>(shards);
+            for (int shard = 0; shard < shards; shard++) {
+                List<Route> shardRoutes = crawlable.subList(
+                    shard * maxUrlsPerFile, Math.min(crawlable.size(), (shard + 1) * maxUrlsPerFile));
+                documents.put(shardDocument(shard + 1), urlSet(shardRoutes));
+                shardLastModified.add(shardRoutes.stream()
+                    .map(Route::updatedAt)
+                    .filter(Objects::nonNull)
+                    .max(LocalDateTime::compareTo)
+                    .orElse(null));
+            }
+            documents.put(INDEX_DOCUMENT, sitemapIndex(shardLastModified));
+        }
+        return new RenderedSitemap(documents, crawlable.size(), hash(documents), lastModified);
+    }
+
+    private static boolean isCrawlable(Route route) {
+        return route.isActive() && "GET".equalsIgnoreCase(route.method()) && !route.path().contains("{");
+    }
+
+    private byte[] urlSet(List<Route> routes) {
+        return gzipXml(writer -> {
+            writer.writeStartElement("urlset");
+            writer.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            for (Route route : routes) {
+                writer.writeStartElement("url");
+                writeElement(writer, "loc", url(route.path()));
+                if (route.updatedAt() != null) {
+                    writeElement(writer, "lastmod", route.updatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE));
+                }
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        });
+    }
+
+    private byte[] sitemapIndex(List<LocalDateTime> shardLastModified) {
+        return gzipXml(writer -> {
+            writer.writeStartElement("sitemapindex");
+            writer.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            for (int shard = 0; shard < shardLastModified.size(); shard++) {
+                writer.writeStartElement("sitemap");
+                writeElement(writer, "loc", baseUrl + "/" + shardDocument(shard + 1));
+                if (shardLastModified.get(shard) != null) {
+                    writeElement(writer, "lastmod", shardLastModified.get(shard).format(DateTimeFormatter.ISO_LOCAL_DATE));
+                }
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        });
+    }
+
+    private String url(String path) {
+        return UriComponentsBuilder.fromUriString(baseUrl).path(path).build().encode().toUriString();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private static byte[] gzipXml(XmlBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 64 * 1024)) {
+            XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(gzip, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            body.write(writer);
+            writer.writeEndDocument();
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Error writing sitemap XML", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String hash(Map<String, byte[]> documents) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            documents.forEach((name, content) -> {
+                digest.update(name.getBytes(StandardCharsets.UTF_8));
+                digest.update(content);
+            });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface XmlBody {
+        void write(XMLStreamWriter writer) throws XMLStreamException;
+    }
+}
@@ -0,0 +1,504 @@
+package guichafy.sample_api.infrastructure.storage;
+
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.Email;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Armazenamento local de usuários em um log append-only com checksum.
+ * <p>
+ * Cada registro é {@code [tamanho:int][crc32c:int][payload]}; o payload é o usuário serializado.
+ * Um índice em memória aponta cada {@link UserId} para o offset do seu registro mais recente,
+ * e as leituras são leituras posicionais no arquivo.
+ * <p>
+ * As escritas concorrentes fazem group commit: cada escritor acrescenta seu registro e então
+ * disputa um único fsync, que cobre tudo o que já foi escrito até ali. Quem chega ao fsync depois
+ * de outro já ter sincronizado a sua posição retorna sem um fsync próprio.
+ * <p>
+ * Na abertura, o índice é reconstruído varrendo o arquivo mapeado em memória; um registro final
+ * incompleto ou com checksum inválido (escrita interrompida) é descartado e o arquivo truncado ali.
+ * Um registro inválido seguido de registros válidos é corrupção no meio do arquivo: a abertura falha.
+ * A compactação reescreve só os registros vivos em um arquivo novo e o troca de forma atômica.
+ */
+public class UserLog implements MeterBinder, AutoCloseable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final long MAP_WINDOW_BYTES = 256L << 20;
+    private static final double DEFAULT_COMPACTION_GARBAGE_RATIO = 0.5;
+
+    private final Path path;
+    private final double compactionGarbageRatio;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock fileLock = new ReentrantReadWriteLock();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private FileChannel channel;
+    private volatile long writtenPosition;
+    private volatile long syncedPosition;
+    private volatile long liveBytes;
+    private List<String> recoveredEmails = List.of();
+
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+
+    public UserLog(Path path) {
+        this(path, DEFAULT_COMPACTION_GARBAGE_RATIO);
+    }
+
+    public UserLog(Path path, double compactionGarbageRatio) {
+        this.path = path;
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening user log " + path, e);
+        }
+    }
+
+    /**
+     * Grava o usuário e só retorna depois do fsync que cobre o registro
+     */
+    public void append(User user) {
+        appendAll(List.of(user));
+    }
+
+    /**
+     * Grava os usuários em uma única escrita e um único fsync
+     */
+    public void appendAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] records = new ByteBuffer[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            records[i] = encode(users.get(i));
+        }
+
+        long end;
+        fileLock.readLock().lock();
+        try {
+            appendLock.lock();
+            try {
+                long position = writtenPosition;
+                long[] recordOffsets = new long[records.length];
+                long total = 0;
+                for (int i = 0; i < records.length; i++) {
+                    recordOffsets[i] = position + total;
+                    total += records[i].remaining();
+                }
+                writeFully(records, position);
+                end = position + total;
+                writtenPosition = end;
+                for (int i = 0; i < users.size(); i++) {
+                    index(users.get(i).id().value(), new Slot(recordOffsets[i], records[i].limit()));
+                }
+                appends.add(users.size());
+            } finally {
+                appendLock.unlock();
+            }
+            sync(end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error appending to user log " + path, e);
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    public Optional<User> find(UserId userId) {
+        fileLock.readLock().lock();
+        try {
+            // O índice só é consultado com o lock: a compactação troca os offsets junto com o arquivo
+            Slot slot = slots.get(userId.value());
+            return slot != null ? Optional.of(read(slot)) : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading user log " + path, e);
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visita a versão mais recente de cada usuário
+     */
+    public void forEach(Consumer<User> action) {
+        fileLock.readLock().lock();
+        try {
+            for (Slot slot : slots.values()) {
+                action.accept(read(slot));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading user log " + path, e);
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Emails das versões mais recentes encontradas na abertura, coletados na própria varredura de
+     * recuperação para que quem precisa deles na subida não releia o log registro a registro
+     */
+    public List<String> recoveredEmails() {
+        return recoveredEmails;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public long fileBytes() {
+        return writtenPosition;
+    }
+
+    /**
+     * Fração do arquivo ocupada por versões substituídas
+     */
+    public double garbageRatio() {
+        long written = writtenPosition;
+        return written == 0 ? 0 : (double) (written - liveBytes) / written;
+    }
+
+    /**
+     * Compacta só quando a fração de lixo passa do limite configurado
+     */
+    @Scheduled(initialDelayString = "${app.users.store.compaction-interval:10m}",
+               fixedDelayString = "${app.users.store.compaction-interval:10m}")
+    public void compactIfNeeded() {
+        if (garbageRatio() < compactionGarbageRatio) {
+            return;
+        }
+        try {
+            compact();
+        } catch (UncheckedIOException e) {
+            // Mantém o arquivo atual
+            System.err.println("Error compacting user log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reescreve apenas os registros vivos em um arquivo novo e o troca pelo atual.
+     * Leituras e escritas esperam a troca terminar
+     */
+    public void compact() {
+        fileLock.writeLock().lock();
+        try {
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            Map<String, Slot> newSlots = new HashMap<>(slots.size() * 4 / 3 + 1);
+            long position = 0;
+            // O canal do arquivo novo continua aberto e passa a ser o do log: depois da troca não sobra
+            // nenhuma abertura que possa falhar e deixar as escritas no arquivo antigo, já desvinculado
+            FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+                    ByteBuffer record = readRecord(entry.getValue());
+                    newSlots.put(entry.getKey(), new Slot(position, entry.getValue().length()));
+                    position += record.remaining();
+                    while (record.hasRemaining()) {
+                        target.write(record);
+                    }
+                }
+                target.force(true);
+                // Se a troca falhar, o arquivo e o canal atuais continuam valendo
+                Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                target.close();
+                throw e;
+            }
+            FileChannel previous = channel;
+            channel = target;
+
+            slots.clear();
+            slots.putAll(newSlots);
+            writtenPosition = position;
+            syncedPosition = position;
+            liveBytes = position;
+            compactions.increment();
+
+            previous.close();
+            // Torna a troca de nome durável: sem o fsync do diretório, uma queda pode voltar ao arquivo antigo
+            syncDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error compacting user log " + path, e);
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    private void syncDirectory() throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileLock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.store.records", this, UserLog::size)
+            .description("Usuários no log local")
+            .register(registry);
+        Gauge.builder("user.store.bytes", this, UserLog::fileBytes)
+            .description("Tamanho do log local de usuários")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("user.store.garbage.ratio", this, UserLog::garbageRatio)
+            .description("Fração do log ocupada por versões substituídas")
+            .register(registry);
+        FunctionCounter.builder("user.store.appends", appends, LongAdder::sum)
+            .description("Registros gravados")
+            .register(registry);
+        FunctionCounter.builder("user.store.syncs", syncs, LongAdder::sum)
+            .description("fsyncs executados; menos que appends indica group commit")
+            .register(registry);
+        FunctionCounter.builder("user.store.compactions", compactions, LongAdder::sum)
+            .description("Compactações do log")
+            .register(registry);
+    }
+
+    /**
+     * Um fsync cobre tudo o que já foi escrito; quem esperava pelo lock e já foi coberto não sincroniza de novo
+     */
+    private void sync(long position) throws IOException {
+        if (syncedPosition >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (syncedPosition >= position) {
+                return;
+            }
+            long target = writtenPosition;
+            channel.force(false);
+            syncedPosition = target;
+            syncs.increment();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void writeFully(ByteBuffer[] records, long position) throws IOException {
+        long written = position;
+        for (ByteBuffer record : records) {
+            ByteBuffer duplicate = record.duplicate();
+            while (duplicate.hasRemaining()) {
+                written += channel.write(duplicate, written);
+            }
+        }
+    }
+
+    /**
+     * Atualiza o índice e a contagem de bytes vivos; a versão substituída vira lixo para a compactação
+     */
+    private void index(String id, Slot slot) {
+        Slot previous = slots.put(id, slot);
+        liveBytes += slot.length() - (previous != null ? previous.length() : 0);
+    }
+
+    private User read(Slot slot) throws IOException {
+        ByteBuffer record = readRecord(slot);
+        record.position(HEADER_BYTES);
+        return decode(record);
+    }
+
+    private ByteBuffer readRecord(Slot slot) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(slot.length());
+        readFully(record, slot.offset());
+        return record.flip();
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of user log at " + position);
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Varre o arquivo por janelas mapeadas em memória, validando cada registro pelo checksum.
+     * Um registro inválido só é tratado como escrita interrompida se nenhum registro válido vier
+     * depois dele; caso contrário o arquivo está corrompido no meio e a abertura falha sem truncá-lo
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        MappedRecords records = new MappedRecords(channel, size);
+        Map<String, String> emails = new HashMap<>();
+        long position = 0;
+
+        ByteBuffer payload;
+        while ((payload = records.payloadAt(position)) != null) {
+            int length = payload.remaining();
+            DataInputStream in = payloadInput(payload);
+            String id = in.readUTF();
+            in.readUTF();
+            emails.put(id, in.readUTF());
+            index(id, new Slot(position, HEADER_BYTES + length));
+            position += HEADER_BYTES + length;
+        }
+
+        if (position < size) {
+            for (long next = position + 1; next + HEADER_BYTES <= size; next++) {
+                if (records.payloadAt(next) != null) {
+                    throw new IOException("User log " + path + " is corrupted at offset " + position
+                        + " but has a valid record at offset " + next
+                        + "; refusing to truncate it. Restore the file or move it aside to start empty");
+                }
+            }
+            System.err.println("Truncating torn tail of user log " + path + " at " + position + " of " + size + " bytes");
+            channel.truncate(position);
+            channel.force(true);
+        }
+        writtenPosition = position;
+        syncedPosition = position;
+        recoveredEmails = List.copyOf(emails.values());
+    }
+
+    private static DataInputStream payloadInput(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private static ByteBuffer encode(User user) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(user.id().value());
+            out.writeUTF(user.name());
+            out.writeUTF(user.email().value());
+            writeDateTime(out, user.createdAt());
+            writeDateTime(out, user.updatedAt());
+            out.flush();
+            byte[] payload = bytes.toByteArray();
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            return ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static User decode(ByteBuffer payload) throws IOException {
+        DataInputStream in = payloadInput(payload);
+        return new User(UserId.of(in.readUTF()), in.readUTF(), Email.of(in.readUTF()), readDateTime(in), readDateTime(in));
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(dateTime.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Posição e tamanho (com cabeçalho) do registro mais recente de um usuário
+     */
+    private record Slot(long offset, int length) {}
+
+    /**
+     * Leitura dos registros da recuperação por uma janela mapeada que avança com a posição
+     */
+    private static final class MappedRecords {
+
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedRecords(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        /**
+         * Payload do registro que começa na posição, ou {@code null} se ali não há um registro íntegro
+         */
+        ByteBuffer payloadAt(long position) throws IOException {
+            if (position + HEADER_BYTES > size) {
+                return null;
+            }
+            map(position, HEADER_BYTES);
+            int length = window.getInt((int) (position - windowStart));
+            if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size) {
+                return null;
+            }
+            // O registro pode atravessar o fim da janela: remapeia a partir dele
+            map(position, HEADER_BYTES + length);
+            int relative = (int) (position - windowStart);
+            int checksum = window.getInt(relative + 4);
+            ByteBuffer payload = window.slice(relative + HEADER_BYTES, length);
+            CRC32C crc = new CRC32C();
+            crc.update(payload.duplicate());
+            return (int) crc.getValue() == checksum ? payload : null;
+        }
+
+        private void map(long position, int bytes) throws IOException {
+            if (window != null && position >= windowStart && position + bytes <= windowStart + window.capacity()) {
+                return;
+            }
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Math.max(MAP_WINDOW_BYTES, bytes), size - position));
+        }
+    }
+}
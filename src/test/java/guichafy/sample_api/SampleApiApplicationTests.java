@@ -1,13 +1,27 @@
 package guichafy.sample_api;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @Import(TestcontainersConfiguration.class)
 @SpringBootTest
 class SampleApiApplicationTests {
 
+	// O log local de usuários vai para um diretório temporário, fora da árvore do projeto
+	@TempDir
+	static Path storeDirectory;
+
+	@DynamicPropertySource
+	static void userStore(DynamicPropertyRegistry registry) {
+		registry.add("app.users.store.path", () -> storeDirectory.resolve("users.log").toString());
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,82 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.infrastructure.concurrency.AdaptiveLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void shouldRejectImmediatelyWhenTheLimitIsReachedWithoutWait() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 2, 1, 10, Duration.ZERO);
+
+        assertTrue(limiter.acquire());
+        assertTrue(limiter.acquire());
+        assertFalse(limiter.acquire());
+        assertEquals(1, limiter.rejectedCount());
+
+        limiter.onIgnore();
+        assertTrue(limiter.acquire());
+    }
+
+    @Test
+    void shouldHandTheReleasedSlotToAWaitingCaller() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 1, 1, 1, Duration.ofSeconds(5));
+        assertTrue(limiter.acquire());
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(limiter::acquire);
+        Thread.sleep(50);
+        assertFalse(waiting.isDone());
+
+        limiter.onSuccess(RTT);
+        assertTrue(waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(0, limiter.rejectedCount());
+    }
+
+    @Test
+    void shouldGrowWhileLatencyIsStableAndShrinkWhenItRises() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 2, 100, Duration.ZERO);
+
+        saturate(limiter, 50, RTT);
+        int grown = limiter.limit();
+        assertTrue(grown > 10, "limit should grow under stable latency, was " + grown);
+
+        saturate(limiter, 50, RTT * 5);
+        assertTrue(limiter.limit() < grown, "limit should shrink when latency rises, was " + limiter.limit());
+    }
+
+    @Test
+    void shouldBackOffOnOverloadButNotBelowTheMinimum() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 4, 100, Duration.ZERO);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.acquire());
+            limiter.onOverload();
+        }
+
+        assertEquals(4, limiter.limit());
+        assertEquals(0, limiter.inFlightCount());
+    }
+
+    /**
+     * Ocupa todas as vagas e libera cada uma com o RTT informado, repetidas vezes
+     */
+    private static void saturate(AdaptiveLimiter limiter, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.acquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+        }
+    }
+}
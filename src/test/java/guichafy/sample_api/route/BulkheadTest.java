@@ -0,0 +1,90 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.infrastructure.concurrency.Bulkhead;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Test
+    void shouldHoldCallsBeyondTheLimitUntilAPermitIsReleased() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 2, executor);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[5];
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = CompletableFuture.runAsync(() -> bulkhead.call(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                awaitQuietly(release);
+                running.decrementAndGet();
+                return null;
+            }), executor);
+        }
+
+        awaitUntil(() -> bulkhead.activeCount() == 2 && bulkhead.queuedCount() == 3);
+        release.countDown();
+        CompletableFuture.allOf(calls).get(2, TimeUnit.SECONDS);
+
+        assertEquals(2, maxRunning.get());
+        assertEquals(0, bulkhead.activeCount());
+        assertEquals(0, bulkhead.queuedCount());
+    }
+
+    @Test
+    void shouldRejectAWaitingCallWhenItsThreadIsInterrupted() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, executor);
+        CountDownLatch release = new CountDownLatch(1);
+        bulkhead.execute(() -> awaitQuietly(release));
+        awaitUntil(() -> bulkhead.activeCount() == 1);
+
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<Throwable> rejection = new CompletableFuture<>();
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                bulkhead.call(() -> ran.getAndSet(true));
+                rejection.complete(null);
+            } catch (RuntimeException e) {
+                rejection.complete(e);
+            }
+        });
+        awaitUntil(() -> bulkhead.queuedCount() == 1);
+        waiter.interrupt();
+
+        assertInstanceOf(IllegalStateException.class, rejection.get(1, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+        assertEquals(0, bulkhead.queuedCount());
+        release.countDown();
+        awaitUntil(() -> bulkhead.activeCount() == 0);
+        assertTrue(bulkhead.call(() -> true));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
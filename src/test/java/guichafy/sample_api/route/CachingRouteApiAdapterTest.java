@@ -0,0 +1,165 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.application.ports.input.RequestDeadline;
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.output.RouteApiPort;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.adapters.output.CachingRouteApiAdapter;
+import guichafy.sample_api.infrastructure.adapters.output.FallbackRouteApiAdapter;
+import guichafy.sample_api.infrastructure.config.RouteCacheProperties.CacheSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingRouteApiAdapterTest {
+
+    private static final CacheSpec SPEC = new CacheSpec(Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+
+    private CountingRouteApiPort upstream;
+    private CachingRouteApiAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        upstream = new CountingRouteApiPort();
+        adapter = new CachingRouteApiAdapter(upstream, SPEC, SPEC, SPEC);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        RouteId routeId = RouteId.of("route-1");
+
+        Optional<Route> first = adapter.findRouteByIdAsync(routeId).join();
+        Optional<Route> second = adapter.findRouteByIdAsync(routeId).join();
+        adapter.isRouteActiveAsync(routeId).join();
+        adapter.isRouteActiveAsync(routeId).join();
+
+        assertTrue(first.isPresent());
+        assertEquals(first, second);
+        assertEquals(1, upstream.findCalls.get());
+        assertEquals(1, upstream.statusCalls.get());
+    }
+
+    @Test
+    void shouldResolveOnlyMissingStatusesInOneBulkCall() {
+        adapter.isRouteActiveAsync(RouteId.of("route-1")).join();
+
+        Map<RouteId, Boolean> statuses = adapter.areRoutesActiveAsync(
+            List.of(RouteId.of("route-1"), RouteId.of("route-2"), RouteId.of("route-3"))
+        ).join();
+
+        assertEquals(3, statuses.size());
+        assertEquals(2, upstream.statusCalls.get());
+    }
+
+    @Test
+    void shouldMergeCachedMetadataIntoGivenRoute() {
+        Route route = upstream.route(RouteId.of("route-1"));
+
+        Optional<Route> first = adapter.enrichRouteMetadataAsync(route).join();
+        Optional<Route> second = adapter.enrichRouteMetadataAsync(route.withActiveStatus(false)).join();
+
+        assertEquals("1.0", first.orElseThrow().metadata().get("version"));
+        assertEquals("1.0", second.orElseThrow().metadata().get("version"));
+        assertFalse(second.get().isActive());
+        assertEquals(1, upstream.metadataCalls.get());
+    }
+
+    @Test
+    void shouldLoadWithoutTheDeadlineOfTheFirstCaller() {
+        RouteId routeId = RouteId.of("route-1");
+
+        RequestDeadline.after(Duration.ofMillis(100)).call(() -> adapter.findRouteByIdAsync(routeId).join());
+
+        assertEquals(1, upstream.findCalls.get());
+        assertFalse(upstream.loadedWithDeadline);
+    }
+
+    @Test
+    void shouldNotCacheFallbacksForFailedLoads() {
+        RouteApiPort port = new FallbackRouteApiAdapter(adapter);
+        RouteId routeId = RouteId.of("route-1");
+        upstream.failures.set(1);
+
+        assertTrue(port.findRouteByIdAsync(routeId).join().isEmpty());
+        assertTrue(port.findRouteByIdAsync(routeId).join().isPresent());
+        assertEquals(2, upstream.findCalls.get());
+    }
+
+    private static class CountingRouteApiPort implements RouteApiPort {
+
+        volatile boolean loadedWithDeadline;
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger findCalls = new AtomicInteger();
+        final AtomicInteger statusCalls = new AtomicInteger();
+        final AtomicInteger metadataCalls = new AtomicInteger();
+
+        Route route(RouteId routeId) {
+            LocalDateTime now = LocalDateTime.now();
+            return new Route(routeId, "/api/users", "Users", null, "GET", List.of("api"), Map.of(), true, now, now);
+        }
+
+        @Override
+        public CompletableFuture<Optional<Route>> findRouteByIdAsync(RouteId routeId) {
+            findCalls.incrementAndGet();
+            loadedWithDeadline = RequestDeadline.current().bounded();
+            if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                return CompletableFuture.failedFuture(new IllegalStateException("upstream unavailable"));
+            }
+            return CompletableFuture.completedFuture(Optional.of(route(routeId)));
+        }
+
+        @Override
+        public CompletableFuture<List<Route>> findAllRoutesAsync(RouteFilter filter) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Optional<Route>> enrichRouteMetadataAsync(Route route) {
+            return findRouteMetadataAsync(route.id())
+                .thenApply(metadata -> Optional.of(route.withAdditionalMetadata(metadata)));
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Object>> findRouteMetadataAsync(RouteId routeId) {
+            metadataCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(Map.of("version", "1.0"));
+        }
+
+        @Override
+        public CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId) {
+            statusCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        public CompletableFuture<Map<RouteId, Boolean>> areRoutesActiveAsync(Collection<RouteId> routeIds) {
+            statusCalls.incrementAndGet();
+            Map<RouteId, Boolean> statuses = new HashMap<>();
+            routeIds.forEach(routeId -> statuses.put(routeId, true));
+            return CompletableFuture.completedFuture(statuses);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Long>> tagFacetsAsync(RouteFilter filter) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+    }
+}
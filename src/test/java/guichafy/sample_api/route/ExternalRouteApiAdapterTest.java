@@ -0,0 +1,147 @@
+package guichafy.sample_api.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.adapters.output.ExternalRouteApiAdapter;
+import guichafy.sample_api.infrastructure.catalog.RouteCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ExternalRouteApiAdapterTest {
+
+    private static final String BASE_URL = "http://routes.test";
+
+    private MockRestServiceServer server;
+    private ExternalRouteApiAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        adapter = new ExternalRouteApiAdapter(restTemplate, objectMapper, BASE_URL, Runnable::run,
+            Duration.ofMillis(5), 100, true);
+    }
+
+    @Test
+    void shouldStreamEachRouteOfTheListing() {
+        server.expect(requestTo(BASE_URL + "/routes?page=0&size=2"))
+            .andRespond(withSuccess("""
+                [
+                  {"id": "r1", "path": "/api/users", "name": "Users", "method": "GET", "tags": ["api"], "active": true,
+                   "createdAt": "2024-01-15T10:30:00", "updatedAt": "2024-01-15T14:20:00"},
+                  {"id": "r2", "path": "/api/todos", "name": "Todos", "method": "POST", "active": false}
+                ]
+                """, MediaType.APPLICATION_JSON));
+
+        List<Route> streamed = new ArrayList<>();
+        adapter.streamAllRoutesAsync(RouteFilter.withPagination(0, 2), streamed::add).join();
+
+        assertEquals(2, streamed.size());
+        assertEquals("/api/users", streamed.get(0).path());
+        assertEquals(List.of("api"), streamed.get(0).tags());
+        assertFalse(streamed.get(1).isActive());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 14, 20), streamed.get(0).updatedAt());
+        // Sem data na API externa: nada de updatedAt sintético, que mudaria o ETag a cada leitura
+        assertNull(streamed.get(1).updatedAt());
+        server.verify();
+    }
+
+    @Test
+    void shouldRejectCursorListingsWhenTheUpstreamDoesNotSupportThem() {
+        assertFalse(adapter.supportsCursorPagination());
+        assertThrows(CompletionException.class, () -> adapter.streamAllRoutesAsync(
+            RouteFilter.withPagination(0, 2).after("r1"), route -> {}).join());
+        server.verify();
+    }
+
+    @Test
+    void shouldLoadTheWholeCatalogWhenTheUpstreamCapsPagesAndSkipInvalidRoutes() {
+        // A API limita a página a 2 rotas, abaixo do page-size pedido
+        server.expect(requestTo(BASE_URL + "/routes?page=0&size=3"))
+            .andRespond(withSuccess("""
+                [
+                  {"id": "r1", "path": "/r1", "name": "R1", "method": "GET", "active": true},
+                  {"id": "r2", "path": "", "name": "Sem path", "method": "GET", "active": true}
+                ]
+                """, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/routes?page=1&size=3"))
+            .andRespond(withSuccess("""
+                [
+                  {"id": "r3", "path": "/r3", "name": "R3", "method": "GET", "active": true},
+                  {"id": "r4", "path": "/r4", "name": "R4", "method": "GET", "active": "maybe"}
+                ]
+                """, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/routes?page=2&size=3"))
+            .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        RouteCatalog catalog = new RouteCatalog(adapter, 3);
+        catalog.refresh();
+
+        assertEquals(2, catalog.snapshot().orElseThrow().size());
+        server.verify();
+    }
+
+    @Test
+    void shouldCountFacetsAcrossCappedPagesAndPropagateErrors() {
+        server.expect(requestTo(BASE_URL + "/routes?page=0&size=500"))
+            .andRespond(withSuccess("""
+                [
+                  {"id": "r1", "path": "/r1", "name": "R1", "method": "GET", "tags": ["api", "public"], "active": true},
+                  {"id": "r2", "path": "/r2", "name": "R2", "method": "GET", "tags": ["api"], "active": true}
+                ]
+                """, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/routes?page=1&size=500"))
+            .andRespond(withSuccess("""
+                [{"id": "r3", "path": "/r3", "name": "R3", "method": "GET", "tags": ["public"], "active": true}]
+                """, MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/routes?page=2&size=500"))
+            .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/routes?page=0&size=500")).andRespond(withServerError());
+
+        assertEquals(Map.of("api", 2L, "public", 2L), adapter.tagFacetsAsync(RouteFilter.empty().withoutPagination()).join());
+        assertThrows(CompletionException.class, () -> adapter.tagFacetsAsync(RouteFilter.empty().withoutPagination()).join());
+        server.verify();
+    }
+
+    @Test
+    void shouldFailStreamButReturnEmptyListingOnUpstreamError() {
+        server.expect(requestTo(BASE_URL + "/routes?page=0&size=2")).andRespond(withServerError());
+        server.expect(requestTo(BASE_URL + "/routes?page=0&size=2")).andRespond(withServerError());
+
+        assertThrows(CompletionException.class,
+            () -> adapter.streamAllRoutesAsync(RouteFilter.withPagination(0, 2), route -> {}).join());
+        assertTrue(adapter.findAllRoutesAsync(RouteFilter.withPagination(0, 2)).join().isEmpty());
+    }
+
+    @Test
+    void shouldEncodeTheBulkStatusQueryOnlyOnce() {
+        server.expect(requestTo(BASE_URL + "/routes/status?ids=route%20one"))
+            .andRespond(withSuccess("""
+                [{"id": "route one", "active": true}]
+                """, MediaType.APPLICATION_JSON));
+
+        Map<RouteId, Boolean> statuses = adapter.areRoutesActiveAsync(List.of(RouteId.of("route one"))).join();
+
+        assertEquals(Map.of(RouteId.of("route one"), true), statuses);
+        server.verify();
+    }
+}
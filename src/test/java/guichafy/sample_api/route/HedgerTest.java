@@ -0,0 +1,80 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.infrastructure.concurrency.Hedger;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Test
+    void shouldAnswerFromTheHedgeWhenTheFirstCallIsSlow() {
+        Hedger hedger = new Hedger("test", executor, true, 0.9, Duration.ofMillis(5), 1.0, 100);
+        warmUp(hedger);
+        assertTrue(hedger.hedgeDelayMillis() >= 5);
+
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.nanoTime();
+        String result = hedger.call(() -> attempts.incrementAndGet() == 1 ? sleepThen(2_000, "slow") : "fast")
+            .orTimeout(1, TimeUnit.SECONDS)
+            .join();
+
+        assertEquals("fast", result);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertEquals(1, hedger.hedgeCount());
+        // A vitória é contada logo depois de completar o resultado
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (hedger.hedgeWinCount() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, hedger.hedgeWinCount());
+    }
+
+    @Test
+    void shouldNotHedgeWithoutBudget() {
+        Hedger hedger = new Hedger("test", executor, true, 0.9, Duration.ofMillis(5), 0, 100);
+        warmUp(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        assertEquals("slow", hedger.call(() -> {
+            attempts.incrementAndGet();
+            return sleepThen(100, "slow");
+        }).join());
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.hedgeCount());
+    }
+
+    @Test
+    void shouldFailOnlyWhenEveryAttemptFailed() {
+        Hedger hedger = Hedger.disabled("test", executor);
+
+        Exception error = assertThrows(Exception.class, () -> hedger.call(() -> {
+            throw new IllegalStateException("upstream unavailable");
+        }).join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+
+    private static void warmUp(Hedger hedger) {
+        for (int i = 0; i < 20; i++) {
+            hedger.call(() -> "warm").join();
+        }
+    }
+
+    private static String sleepThen(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,70 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.infrastructure.concurrency.MicroBatcher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    @Test
+    void shouldDispatchWithoutWaitingTheWindowWhenNoBatchIsInFlight() throws Exception {
+        MicroBatcher<String, Integer> batcher = new MicroBatcher<>("test", Duration.ofSeconds(30), 100,
+            keys -> CompletableFuture.completedFuture(lengths(keys)));
+
+        assertEquals(3, batcher.submit("abc").get(1, TimeUnit.SECONDS));
+        assertEquals(Map.of("a", 1, "bb", 2), batcher.submitAll(List.of("a", "bb")).get(1, TimeUnit.SECONDS));
+        assertEquals(2, batcher.batchCount());
+    }
+
+    @Test
+    void shouldGroupKeysSubmittedWhileABatchIsInFlight() throws Exception {
+        List<Set<String>> batches = new CopyOnWriteArrayList<>();
+        CompletableFuture<Map<String, Integer>> first = new CompletableFuture<>();
+        MicroBatcher<String, Integer> batcher = new MicroBatcher<>("test", Duration.ofMillis(20), 100, keys -> {
+            batches.add(keys);
+            return batches.size() == 1 ? first : CompletableFuture.completedFuture(lengths(keys));
+        });
+
+        CompletableFuture<Integer> a = batcher.submit("a");
+        CompletableFuture<Integer> bb = batcher.submit("bb");
+        CompletableFuture<Integer> ccc = batcher.submit("ccc");
+        first.complete(Map.of("a", 1));
+
+        assertEquals(1, a.get(1, TimeUnit.SECONDS));
+        assertEquals(2, bb.get(1, TimeUnit.SECONDS));
+        assertEquals(3, ccc.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of("a"), Set.of("bb", "ccc")), batches);
+    }
+
+    @Test
+    void shouldDispatchThePendingBatchWhenClosed() throws Exception {
+        CompletableFuture<Map<String, Integer>> first = new CompletableFuture<>();
+        MicroBatcher<String, Integer> batcher = new MicroBatcher<>("test", Duration.ofSeconds(30), 100,
+            keys -> keys.contains("a") ? first : CompletableFuture.completedFuture(lengths(keys)));
+
+        CompletableFuture<Integer> a = batcher.submit("a");
+        CompletableFuture<Integer> bb = batcher.submit("bb");
+        batcher.close();
+
+        assertEquals(2, bb.get(1, TimeUnit.SECONDS));
+        assertEquals(3, batcher.submit("ccc").get(1, TimeUnit.SECONDS));
+        first.complete(Map.of("a", 1));
+        assertEquals(1, a.get(1, TimeUnit.SECONDS));
+    }
+
+    private static Map<String, Integer> lengths(Set<String> keys) {
+        Map<String, Integer> lengths = new HashMap<>();
+        keys.forEach(key -> lengths.put(key, key.length()));
+        return lengths;
+    }
+}
@@ -0,0 +1,93 @@
+package guichafy.sample_api.route;
+
+import com.sun.net.httpserver.HttpServer;
+import guichafy.sample_api.application.ports.input.RequestDeadline;
+import guichafy.sample_api.application.ports.input.RequestDeadline.DeadlineExceededException;
+import guichafy.sample_api.infrastructure.config.OutboundHttpProperties.ClientSpec;
+import guichafy.sample_api.infrastructure.config.OutboundHttpProperties.LimitSpec;
+import guichafy.sample_api.infrastructure.http.OutboundHttpClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientsTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private HttpServer server;
+    private OutboundHttpClients clients;
+    private RestTemplate restTemplate;
+    private URI slowUri;
+
+    @BeforeEach
+    void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            hits.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        slowUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/slow");
+
+        // Timeouts configurados bem maiores que o prazo, para que só o prazo explique a falha rápida
+        ClientSpec spec = new ClientSpec(Duration.ofSeconds(10), Duration.ofSeconds(10), Duration.ofSeconds(10),
+            10, 10, Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(10), false,
+            new LimitSpec(false, 20, 4, 100, Duration.ofMillis(50)));
+        clients = new OutboundHttpClients(Map.of("test", spec), new SimpleMeterRegistry());
+        restTemplate = new RestTemplate(clients.requestFactory("test"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        server.stop(0);
+        clients.destroy();
+    }
+
+    @Test
+    void shouldCapTheResponseTimeoutToTheRemainingDeadline() {
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> RequestDeadline.after(Duration.ofMillis(200))
+            .call(() -> restTemplate.getForObject(slowUri, String.class)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 3_000, "took " + elapsedMillis + "ms");
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void shouldNotSendCallsWhoseDeadlineHasExpiredAndKeepDefaultsWithoutOne() {
+        assertThrows(DeadlineExceededException.class, () -> RequestDeadline.after(Duration.ZERO)
+            .call(() -> restTemplate.getForObject(slowUri, String.class)));
+        assertEquals(0, hits.get());
+
+        release.countDown();
+        assertEquals("ok", restTemplate.getForObject(slowUri, String.class));
+        assertEquals(1, hits.get());
+    }
+}
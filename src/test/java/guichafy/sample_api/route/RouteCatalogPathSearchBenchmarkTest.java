@@ -0,0 +1,98 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.catalog.RouteCatalogSnapshot;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara a busca por {@code pathContains} via índice de trigramas com a varredura linear.
+ * Roda apenas com {@code mvn test -Dtest=RouteCatalogPathSearchBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RouteCatalogPathSearchBenchmarkTest {
+
+    private static final String[] SEGMENTS = {
+        "api", "v1", "v2", "users", "todos", "orders", "payments", "catalog", "items", "search",
+        "reports", "admin", "settings", "invoices", "customers", "products", "reviews", "health"
+    };
+    private static final List<String> QUERIES = List.of("payments", "v2/orders", "invoices/4217", "rev", "zz-missing");
+    private static final int ITERATIONS = 200;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void pathContainsLatency(int catalogSize) {
+        List<Route> routes = generate(catalogSize);
+        RouteCatalogSnapshot snapshot = RouteCatalogSnapshot.of(routes, Instant.now());
+
+        for (String query : QUERIES) {
+            RouteFilter filter = new RouteFilter(null, null, null, query, 0, Integer.MAX_VALUE);
+            String fragment = query.toLowerCase(Locale.ROOT);
+
+            int indexed = snapshot.query(filter).size();
+            int scanned = (int) routes.stream().filter(route -> route.path().toLowerCase(Locale.ROOT).contains(fragment)).count();
+            assertEquals(scanned, indexed);
+
+            long indexNanos = measure(() -> snapshot.query(filter).size());
+            long scanNanos = measure(() -> (int) routes.stream()
+                .filter(route -> route.path().toLowerCase(Locale.ROOT).contains(fragment))
+                .count());
+
+            System.out.printf("routes=%,d query=%-14s matches=%,d index=%,d us scan=%,d us%n",
+                catalogSize, query, indexed, indexNanos / 1_000, scanNanos / 1_000);
+        }
+    }
+
+    /**
+     * Mediana de ITERATIONS execuções, após aquecimento
+     */
+    private static long measure(IntSupplier task) {
+        int sink = 0;
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            sink += task.getAsInt();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            sink += task.getAsInt();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        if (sink == Integer.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return samples[ITERATIONS / 2];
+    }
+
+    private static List<Route> generate(int count) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Route> routes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder path = new StringBuilder();
+            int depth = 2 + random.nextInt(3);
+            for (int d = 0; d < depth; d++) {
+                path.append('/').append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+            }
+            path.append('/').append(i);
+            routes.add(new Route(RouteId.of("route-" + i), path.toString(), "Route " + i, null,
+                random.nextBoolean() ? "GET" : "POST", List.of(), Map.of(), random.nextInt(10) > 0, now, now));
+        }
+        return routes;
+    }
+}
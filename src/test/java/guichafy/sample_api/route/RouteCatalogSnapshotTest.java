@@ -0,0 +1,97 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.input.TagMatchMode;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.catalog.RouteCatalogSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteCatalogSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private final RouteCatalogSnapshot snapshot = RouteCatalogSnapshot.of(List.of(
+        route("r3", "/api/todos", "POST", List.of("todos"), true),
+        route("r1", "/api/users", "GET", List.of("users", "api"), true),
+        route("r2", "/api/Users/{id}", "get", List.of("users"), false),
+        route("r4", "/health", "GET", List.of("ops"), true)
+    ), Instant.now());
+
+    @Test
+    void shouldCombineIndexedAndResidualFilters() {
+        RouteFilter filter = new RouteFilter("GET", List.of("users", "ops"), true, null, 0, 10);
+
+        assertEquals(List.of("r1", "r4"), ids(snapshot.query(filter)));
+        assertEquals(List.of("r1", "r2"), ids(snapshot.query(RouteFilter.withPagination(0, 10).withPathContains("USERS"))));
+        assertEquals(List.of("r2"), ids(snapshot.query(RouteFilter.withPagination(0, 10).withActiveStatus(false))));
+    }
+
+    @Test
+    void shouldAnswerPathContainsThroughTrigramIndex() {
+        RouteFilter all = RouteFilter.withPagination(0, 10);
+
+        assertEquals(List.of("r2"), ids(snapshot.query(all.withPathContains("ERS/{"))));
+        assertEquals(List.of("r1"), ids(snapshot.query(all.withPathContains("users").withActiveStatus(true))));
+        assertEquals(List.of("r4"), ids(snapshot.query(all.withPathContains("lth"))));
+        // Um trigrama ausente do índice esvazia os candidatos sem varrer o catálogo
+        assertTrue(snapshot.query(all.withPathContains("/api/health")).isEmpty());
+        // Fragmentos menores que um trigrama caem na varredura
+        assertEquals(List.of("r3"), ids(snapshot.query(all.withPathContains("do"))));
+    }
+
+    @Test
+    void shouldMatchTagsWithAnyAllAndNoneSemantics() {
+        RouteFilter all = RouteFilter.withPagination(0, 10);
+
+        assertEquals(List.of("r1", "r2", "r4"), ids(snapshot.query(all.withTags(List.of("users", "ops"), TagMatchMode.ANY))));
+        assertEquals(List.of("r1"), ids(snapshot.query(all.withTags(List.of("users", "api"), TagMatchMode.ALL))));
+        assertTrue(snapshot.query(all.withTags(List.of("users", "unknown"), TagMatchMode.ALL)).isEmpty());
+        assertEquals(List.of("r3", "r4"), ids(snapshot.query(all.withTags(List.of("users"), TagMatchMode.NONE))));
+        assertEquals(List.of("r4"), ids(snapshot.query(all.withTags(List.of("users"), TagMatchMode.NONE).withMethod("GET"))));
+    }
+
+    @Test
+    void shouldCountTagFacetsOverTheFilteredCatalog() {
+        assertEquals(Map.of("users", 2L, "api", 1L, "ops", 1L, "todos", 1L), snapshot.tagFacets(RouteFilter.withPagination(0, 1)));
+        assertEquals(List.of("users", "api"), List.copyOf(snapshot.tagFacets(
+            RouteFilter.withPagination(0, 10).withPathContains("users").withoutPagination()).keySet()));
+        assertEquals(Map.of("ops", 1L, "todos", 1L),
+            snapshot.tagFacets(RouteFilter.withPagination(0, 10).withTags(List.of("users"), TagMatchMode.NONE)));
+    }
+
+    @Test
+    void shouldPaginateInRouteIdOrder() {
+        assertEquals(List.of("r1", "r2"), ids(snapshot.query(RouteFilter.withPagination(0, 2))));
+        assertEquals(List.of("r3", "r4"), ids(snapshot.query(RouteFilter.withPagination(1, 2))));
+        assertEquals(List.of("r4"), ids(snapshot.query(RouteFilter.withPagination(1, 1).withMethod("GET").withActiveStatus(true))));
+        assertTrue(snapshot.query(RouteFilter.withPagination(5, 2)).isEmpty());
+    }
+
+    @Test
+    void shouldStartPageAfterCursorWithoutSkippingOffsets() {
+        RouteFilter firstPage = RouteFilter.withPagination(0, 2);
+
+        assertEquals(List.of("r3", "r4"), ids(snapshot.query(firstPage.after("r2"))));
+        // O cursor não precisa existir no catálogo: a página começa no primeiro ID maior
+        assertEquals(List.of("r2", "r3"), ids(snapshot.query(firstPage.after("r1-removed"))));
+        assertEquals(List.of("r4"), ids(snapshot.query(firstPage.withMethod("GET").withActiveStatus(true).after("r1"))));
+        assertEquals(List.of("r4"), ids(snapshot.query(firstPage.withPathContains("/").after("r3"))));
+        assertTrue(snapshot.query(firstPage.after("r4")).isEmpty());
+    }
+
+    private static List<String> ids(List<Route> routes) {
+        return routes.stream().map(route -> route.id().value()).toList();
+    }
+
+    private static Route route(String id, String path, String method, List<String> tags, boolean active) {
+        return new Route(RouteId.of(id), path, id, null, method, tags, Map.of(), active, NOW, NOW);
+    }
+}
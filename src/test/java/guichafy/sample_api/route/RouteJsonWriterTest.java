@@ -0,0 +1,62 @@
+package guichafy.sample_api.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.adapters.input.web.RouteJsonWriter;
+import guichafy.sample_api.infrastructure.adapters.input.web.RouteResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteJsonWriterTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 15, 14, 20);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final RouteJsonWriter writer = new RouteJsonWriter(objectMapper, 100);
+
+    @Test
+    void shouldReuseFragmentUntilTheRouteVersionChanges() {
+        Route route = route("r1", Map.of("owner", Map.of("team", "web")));
+
+        byte[] first = writer.fragment(route);
+        assertSame(first, writer.fragment(route(route.id().value(), Map.of("owner", Map.of("team", "web")))));
+        assertNotSame(first, writer.fragment(route.withResolvedActiveStatus(false)));
+        assertNotSame(first, writer.fragment(route.withAdditionalMetadata(Map.of("version", "v2"))));
+    }
+
+    @Test
+    void shouldNotShareFragmentsBetweenVersionsWithCollidingHashes() {
+        // Os dois mapas têm o mesmo hashCode
+        Route first = route("r1", Map.of("v", 1));
+        Route second = route("r1", Map.of("w", 0));
+        assertEquals(first.metadata().hashCode(), second.metadata().hashCode());
+
+        assertTrue(new String(writer.fragment(first)).contains("\"v\":1"));
+        assertTrue(new String(writer.fragment(second)).contains("\"w\":0"));
+
+        // Mesmo ID, updatedAt, status e metadados, mas outro nome
+        Route renamed = new Route(first.id(), first.path(), "Renamed", null, "GET", List.of("api"), Map.of("v", 1), true, UPDATED_AT, UPDATED_AT);
+        assertTrue(new String(writer.fragment(renamed)).contains("Renamed"));
+    }
+
+    @Test
+    void shouldAssembleTheSameJsonJacksonWouldWrite() throws Exception {
+        List<Route> routes = List.of(route("r1", Map.of()), route("r2", Map.of("rateLimit", 100)));
+
+        String expected = objectMapper.writeValueAsString(routes.stream().map(RouteResponse::fromRoute).toList());
+
+        assertEquals(expected, new String(writer.array(routes)));
+        assertEquals("[]", new String(writer.array(List.of())));
+    }
+
+    private static Route route(String id, Map<String, Object> metadata) {
+        return new Route(RouteId.of(id), "/api/" + id, "Route " + id, null, "GET", List.of("api"), metadata, true, UPDATED_AT, UPDATED_AT);
+    }
+}
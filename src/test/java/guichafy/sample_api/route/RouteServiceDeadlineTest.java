@@ -0,0 +1,169 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.application.ports.input.RequestDeadline;
+import guichafy.sample_api.application.ports.input.RequestDeadline.DeadlineExceededException;
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.output.RouteApiPort;
+import guichafy.sample_api.application.usecases.RouteService;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.concurrency.Interruptible;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteServiceDeadlineTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Test
+    void shouldCancelSiblingCallsWhenTheDeadlineExpires() {
+        HangingRouteApi api = new HangingRouteApi();
+        RouteService service = new RouteService(api);
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> RequestDeadline.after(Duration.ofMillis(50))
+            .call(() -> service.getRouteById(RouteId.of("r1"))));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertTrue(api.route.isCancelled());
+        assertTrue(api.status.isCancelled());
+        assertTrue(api.metadata.isCancelled());
+    }
+
+    @Test
+    void shouldCancelSiblingCallsWhenTheRequestIsCancelled() throws Exception {
+        HangingRouteApi api = new HangingRouteApi();
+        RouteService service = new RouteService(api);
+        RequestDeadline deadline = RequestDeadline.unbounded();
+
+        CompletableFuture<Optional<Route>> request = CompletableFuture.supplyAsync(
+            () -> deadline.call(() -> service.getRouteById(RouteId.of("r1"))), executor);
+        api.started.await(1, TimeUnit.SECONDS);
+        deadline.cancel();
+
+        Exception error = assertThrows(Exception.class, () -> request.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(CancellationException.class, error.getCause());
+        assertTrue(api.route.isCancelled());
+        assertTrue(api.metadata.isCancelled());
+    }
+
+    @Test
+    void shouldInterruptTheRunningCallWhenItsFutureIsCancelled() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> call = Interruptible.supplyAsync(() -> {
+            running.countDown();
+            try {
+                Thread.sleep(10_000);
+                return "done";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IllegalStateException(e);
+            }
+        }, executor);
+
+        assertTrue(running.await(1, TimeUnit.SECONDS));
+        call.cancel(true);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldWriteStreamedRoutesFromTheCallingThread() {
+        HangingRouteApi api = new HangingRouteApi() {
+            @Override
+            public CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer) {
+                return CompletableFuture.runAsync(() -> List.of("r1", "r2").forEach(id -> consumer.accept(route(id))), executor);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId) {
+                // Completa em outra thread, como o lote do MicroBatcher
+                return CompletableFuture.supplyAsync(() -> false, executor);
+            }
+        };
+        RouteService service = new RouteService(api);
+        Thread caller = Thread.currentThread();
+        List<Thread> writers = new ArrayList<>();
+        List<Route> streamed = new ArrayList<>();
+
+        service.streamAllRoutes(RouteFilter.withPagination(0, 10), route -> {
+            writers.add(Thread.currentThread());
+            streamed.add(route);
+        });
+
+        assertEquals(2, streamed.size());
+        assertFalse(streamed.get(0).isActive());
+        assertTrue(writers.stream().allMatch(writer -> writer == caller));
+    }
+
+    private static Route route(String id) {
+        return new Route(RouteId.of(id), "/" + id, "Route " + id, null, "GET", List.of(), Map.of(), true, null, null);
+    }
+
+    /**
+     * Chamadas de rota, status e metadados que nunca respondem
+     */
+    private static class HangingRouteApi implements RouteApiPort {
+
+        final CompletableFuture<Optional<Route>> route = new CompletableFuture<>();
+        final CompletableFuture<Boolean> status = new CompletableFuture<>();
+        final CompletableFuture<Map<String, Object>> metadata = new CompletableFuture<>();
+        final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        public CompletableFuture<Optional<Route>> findRouteByIdAsync(RouteId routeId) {
+            return route;
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Object>> findRouteMetadataAsync(RouteId routeId) {
+            started.countDown();
+            return metadata;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> isRouteActiveAsync(RouteId routeId) {
+            return status;
+        }
+
+        @Override
+        public CompletableFuture<List<Route>> findAllRoutesAsync(RouteFilter filter) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<Void> streamAllRoutesAsync(RouteFilter filter, Consumer<Route> consumer) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<Optional<Route>> enrichRouteMetadataAsync(Route route) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<Map<RouteId, Boolean>> areRoutesActiveAsync(Collection<RouteId> routeIds) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Long>> tagFacetsAsync(RouteFilter filter) {
+            return new CompletableFuture<>();
+        }
+    }
+}
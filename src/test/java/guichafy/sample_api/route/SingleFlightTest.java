@@ -0,0 +1,42 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.infrastructure.concurrency.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void shouldShareInFlightCallAndReleaseKeyWhenDone() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute("route-1", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.execute("route-1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+
+        second.cancel(true);
+        upstream.complete("value");
+
+        assertEquals("value", first.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.coalescedCount());
+        assertEquals(0, singleFlight.inFlightCount());
+
+        singleFlight.execute("route-1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("fresh");
+        });
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,192 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.application.ports.input.GetRouteTagFacetsUseCase;
+import guichafy.sample_api.application.ports.input.GetRouteUseCase;
+import guichafy.sample_api.application.ports.input.GetRoutesUseCase;
+import guichafy.sample_api.application.ports.input.RequestDeadline;
+import guichafy.sample_api.application.ports.input.RouteFilter;
+import guichafy.sample_api.application.ports.input.StreamRoutesUseCase;
+import guichafy.sample_api.application.ports.input.TagMatchMode;
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.adapters.input.web.RouteJsonWriter;
+import guichafy.sample_api.infrastructure.adapters.input.web.SitemapController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SitemapControllerStreamingTest {
+
+    private final List<Route> routes = List.of(route("r1", "/api/users"), route("r2", "/api/todos"));
+
+    private final AtomicReference<RouteFilter> lastFilter = new AtomicReference<>();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        GetRouteUseCase getRouteUseCase = routeId -> {
+            if (routeId.value().equals("slow")) {
+                throw new RequestDeadline.DeadlineExceededException("route " + routeId);
+            }
+            return Optional.empty();
+        };
+        GetRoutesUseCase getRoutesUseCase = filter -> {
+            lastFilter.set(filter);
+            return routes;
+        };
+        StreamRoutesUseCase streamRoutesUseCase = (filter, consumer) -> routes.forEach(consumer);
+        GetRouteTagFacetsUseCase getRouteTagFacetsUseCase = filter -> {
+            lastFilter.set(filter);
+            return Map.of("api", 2L);
+        };
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new SitemapController(
+            getRouteUseCase,
+            getRoutesUseCase,
+            streamRoutesUseCase,
+            getRouteTagFacetsUseCase,
+            new RouteJsonWriter(Jackson2ObjectMapperBuilder.json().build(), 1_000),
+            new TaskExecutorAdapter(Runnable::run),
+            Duration.ofSeconds(10)
+        )).build();
+    }
+
+    @Test
+    void shouldKeepJsonArrayAsDefaultRepresentation() throws Exception {
+        mockMvc.perform(get("/api/sitemap/routes"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$[1].path").value("/api/todos"));
+    }
+
+    @Test
+    void shouldStreamOneJsonObjectPerLineWhenNdjsonIsAccepted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/sitemap/routes").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(org.hamcrest.Matchers.matchesPattern("(?s)\\{\"id\":\"r1\".*\\}\n\\{\"id\":\"r2\".*\\}\n")));
+    }
+
+    @Test
+    void shouldBindTagMatchModeAndServeFacets() throws Exception {
+        mockMvc.perform(get("/api/sitemap/routes/tags").param("tags", "api,public").param("match", "all"))
+            .andExpect(status().isOk());
+        assertEquals(TagMatchMode.ALL, lastFilter.get().tagMatch());
+        assertEquals(List.of("api", "public"), lastFilter.get().tags());
+
+        mockMvc.perform(get("/api/sitemap/routes/tags/facets").param("tags", "internal").param("match", "none"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.api").value(2));
+        assertEquals(TagMatchMode.NONE, lastFilter.get().tagMatch());
+        assertEquals(null, lastFilter.get().page());
+
+        mockMvc.perform(get("/api/sitemap/routes").param("tags", "api").param("match", "some"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnNextCursorForFullPagesAndDecodeItBack() throws Exception {
+        String nextCursor = mockMvc.perform(get("/api/sitemap/routes").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Next-Cursor"))
+            .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/sitemap/routes").param("size", "3").param("cursor", nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"));
+        assertEquals("r2", lastFilter.get().afterRouteId());
+
+        // Origem que ignora o cursor devolve a mesma página: sem novo cursor, para o cliente não entrar em loop
+        mockMvc.perform(get("/api/sitemap/routes").param("size", "2").param("cursor", nextCursor))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/api/sitemap/routes").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldNotOfferCursorsUntilTheyCanBeServed() throws Exception {
+        GetRoutesUseCase withoutCursor = new GetRoutesUseCase() {
+            @Override
+            public List<Route> getAllRoutes(RouteFilter filter) {
+                return routes;
+            }
+
+            @Override
+            public boolean supportsCursorPagination() {
+                return false;
+            }
+        };
+        MockMvc withoutCatalog = MockMvcBuilders.standaloneSetup(new SitemapController(
+            routeId -> Optional.empty(),
+            withoutCursor,
+            (filter, consumer) -> routes.forEach(consumer),
+            filter -> Map.of(),
+            new RouteJsonWriter(Jackson2ObjectMapperBuilder.json().build(), 1_000),
+            new TaskExecutorAdapter(Runnable::run),
+            Duration.ofSeconds(10)
+        )).build();
+
+        withoutCatalog.perform(get("/api/sitemap/routes").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"));
+        withoutCatalog.perform(get("/api/sitemap/routes").param("cursor", cursor("r2")))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenTheListingEtagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/api/sitemap/routes"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/sitemap/routes").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        mockMvc.perform(get("/api/sitemap/routes").header("If-None-Match", "\"stale\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldAnswerGatewayTimeoutWhenTheRequestDeadlineExpires() throws Exception {
+        mockMvc.perform(get("/api/sitemap/routes/slow"))
+            .andExpect(status().isGatewayTimeout());
+        mockMvc.perform(get("/api/sitemap/routes/missing"))
+            .andExpect(status().isNotFound());
+    }
+
+    private static String cursor(String afterRouteId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("r1:" + afterRouteId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Route route(String id, String path) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Route(RouteId.of(id), path, "Route " + id, null, "GET", List.of(), Map.of(), true, now, now);
+    }
+}
@@ -0,0 +1,112 @@
+package guichafy.sample_api.route;
+
+import guichafy.sample_api.domain.entities.Route;
+import guichafy.sample_api.domain.valueobjects.RouteId;
+import guichafy.sample_api.infrastructure.adapters.input.web.SitemapXmlController;
+import guichafy.sample_api.infrastructure.catalog.RouteCatalogSnapshot;
+import guichafy.sample_api.infrastructure.sitemap.SitemapPublisher;
+import guichafy.sample_api.infrastructure.sitemap.SitemapRenderer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SitemapXmlControllerTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 15, 14, 20);
+    private static final Instant LOADED_AT = Instant.parse("2024-01-16T08:00:00Z");
+
+    private final List<Route> routes = List.of(
+        route("r1", "/docs", "GET", true),
+        route("r2", "/docs/a&b", "GET", true),
+        route("r3", "/users/{id}", "GET", true),
+        route("r4", "/users", "POST", true),
+        route("r5", "/legacy", "GET", false),
+        route("r6", "/status", "GET", true)
+    );
+
+    private SitemapPublisher publisher;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        publisher = new SitemapPublisher(new SitemapRenderer("https://www.example.com/", 2));
+        mockMvc = MockMvcBuilders.standaloneSetup(new SitemapXmlController(publisher)).build();
+    }
+
+    @Test
+    void shouldAnswerUnavailableUntilTheCatalogIsLoaded() throws Exception {
+        mockMvc.perform(get("/sitemap.xml"))
+            .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void shouldShardCrawlableRoutesBehindASitemapIndex() throws Exception {
+        publisher.publish(RouteCatalogSnapshot.of(routes, LOADED_AT));
+
+        mockMvc.perform(get("/sitemap.xml"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Tue, 16 Jan 2024 08:00:00 GMT"))
+            .andExpect(content().string(containsString("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">")))
+            .andExpect(content().string(containsString("<loc>https://www.example.com/sitemap-2.xml</loc><lastmod>2024-01-15</lastmod>")));
+
+        mockMvc.perform(get("/sitemap-1.xml"))
+            .andExpect(content().string(containsString("<loc>https://www.example.com/docs</loc>")))
+            .andExpect(content().string(containsString("<loc>https://www.example.com/docs/a&amp;b</loc>")));
+        mockMvc.perform(get("/sitemap-2.xml"))
+            .andExpect(content().string(containsString("/status")))
+            .andExpect(content().string(not(containsString("/users"))))
+            .andExpect(content().string(not(containsString("/legacy"))));
+        mockMvc.perform(get("/sitemap-3.xml"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldServeGzipBytesAndKeepLastModifiedWhileContentIsUnchanged() throws Exception {
+        publisher.publish(RouteCatalogSnapshot.of(routes, LOADED_AT));
+        publisher.publish(RouteCatalogSnapshot.of(routes, LOADED_AT.plusSeconds(60)));
+
+        byte[] gzipped = mockMvc.perform(get("/sitemap-1.xml").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+        String xml = new String(new GZIPInputStream(new ByteArrayInputStream(gzipped)).readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(xml.contains("<urlset"));
+
+        mockMvc.perform(get("/sitemap.xml").header(HttpHeaders.IF_MODIFIED_SINCE, "Tue, 16 Jan 2024 08:00:00 GMT"))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldHonourAcceptEncodingWeights() throws Exception {
+        publisher.publish(RouteCatalogSnapshot.of(routes, LOADED_AT));
+
+        for (String acceptEncoding : List.of("gzip;q=0", "x-gzip", "br, gzip;q=0, *", "identity")) {
+            mockMvc.perform(get("/sitemap-1.xml").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("<urlset")));
+        }
+        for (String acceptEncoding : List.of("GZIP;Q=0.5", "br;q=1.0, *;q=0.1", "deflate, gzip ; q=1")) {
+            mockMvc.perform(get("/sitemap-1.xml").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        }
+    }
+
+    private static Route route(String id, String path, String method, boolean active) {
+        return new Route(RouteId.of(id), path, id, null, method, List.of(), Map.of(), active, UPDATED_AT, UPDATED_AT);
+    }
+}
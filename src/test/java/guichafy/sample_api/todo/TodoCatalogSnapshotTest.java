@@ -0,0 +1,84 @@
+package guichafy.sample_api.todo;
+
+import guichafy.sample_api.application.ports.input.TodoFilter;
+import guichafy.sample_api.application.ports.input.TodoStats;
+import guichafy.sample_api.domain.entities.Todo;
+import guichafy.sample_api.domain.valueobjects.TodoId;
+import guichafy.sample_api.infrastructure.catalog.TodoCatalogSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoCatalogSnapshotTest {
+
+    private final TodoCatalogSnapshot snapshot = TodoCatalogSnapshot.of(List.of(
+        new Todo(TodoId.of("1"), 1L, "delectus aut autem", false),
+        new Todo(TodoId.of("2"), 1L, "Quis ut nam facilis", true),
+        new Todo(TodoId.of("3"), 2L, "delectus quis", true),
+        new Todo(TodoId.of("4"), 2L, "fugiat veniam minus", false),
+        new Todo(TodoId.of("5"), 1L, "Delectus minus", false)
+    ), Instant.now());
+
+    @Test
+    void shouldCombineUserCompletedAndTitlePrefixFilters() {
+        assertEquals(List.of("1", "2", "5"), ids(snapshot.query(TodoFilter.empty().withUserId(1L))));
+        assertEquals(List.of("2", "3"), ids(snapshot.query(TodoFilter.empty().withCompleted(true))));
+        // O prefixo não diferencia maiúsculas e preserva a ordem original
+        assertEquals(List.of("1", "3", "5"), ids(snapshot.query(TodoFilter.empty().withTitlePrefix("DELECTUS"))));
+        assertEquals(List.of("1", "5"), ids(snapshot.query(TodoFilter.empty().withTitlePrefix("delectus").withUserId(1L).withCompleted(false))));
+        assertTrue(snapshot.query(TodoFilter.empty().withTitlePrefix("zzz")).isEmpty());
+        assertTrue(snapshot.query(TodoFilter.empty().withUserId(99L)).isEmpty());
+    }
+
+    @Test
+    void shouldMatchTitlePrefixesBeyondAscii() {
+        TodoCatalogSnapshot titles = TodoCatalogSnapshot.of(List.of(
+            new Todo(TodoId.of("1"), 1L, "Éclair", false),
+            new Todo(TodoId.of("2"), 1L, "eclipse", false),
+            new Todo(TodoId.of("3"), 1L, "écran 🙂", false),
+            new Todo(TodoId.of("4"), 1L, "éc", false),
+            new Todo(TodoId.of("5"), 1L, "é", false)
+        ), Instant.now());
+
+        assertEquals(List.of("1", "3", "4"), ids(titles.query(TodoFilter.empty().withTitlePrefix("ÉC"))));
+        assertEquals(List.of("3"), ids(titles.query(TodoFilter.empty().withTitlePrefix("écran 🙂"))));
+        assertEquals(List.of("2"), ids(titles.query(TodoFilter.empty().withTitlePrefix("ec"))));
+    }
+
+    @Test
+    void shouldPaginateFilteredResultsAndFindById() {
+        assertEquals(List.of("3", "4"), ids(snapshot.query(TodoFilter.withPagination(1, 2))));
+        assertEquals(List.of("5"), ids(snapshot.query(TodoFilter.withPagination(1, 2).withUserId(1L))));
+        assertTrue(snapshot.query(TodoFilter.withPagination(3, 2)).isEmpty());
+
+        assertEquals("fugiat veniam minus", snapshot.findById(TodoId.of("4")).orElseThrow().title());
+        assertTrue(snapshot.findById(TodoId.of("42")).isEmpty());
+    }
+
+    @Test
+    void shouldAggregatePerUserStatsAcrossParallelChunks() {
+        assertEquals(List.of(new TodoStats(1L, 3, 1), new TodoStats(2L, 2, 1)), snapshot.statsByUser());
+
+        // Grande o bastante para ser dividido em vários blocos varridos em paralelo
+        int size = 300_000;
+        List<Todo> todos = IntStream.range(0, size)
+            .mapToObj(i -> new Todo(TodoId.of(String.valueOf(i + 1)), (long) (i % 7), "todo " + i, i % 3 == 0))
+            .toList();
+        TodoCatalogSnapshot large = TodoCatalogSnapshot.of(todos, Instant.now());
+
+        List<TodoStats> stats = large.statsByUser();
+        assertEquals(7, stats.size());
+        assertEquals(size, stats.stream().mapToLong(TodoStats::total).sum());
+        assertEquals(size / 3, stats.stream().mapToLong(TodoStats::completed).sum());
+        assertEquals("todo 199999", large.findById(TodoId.of("200000")).orElseThrow().title());
+        assertTrue(large.findById(TodoId.of("abc")).isEmpty());
+    }
+
+    private static List<String> ids(List<Todo> todos) {
+        return todos.stream().map(todo -> todo.id().value()).toList();
+    }
+}
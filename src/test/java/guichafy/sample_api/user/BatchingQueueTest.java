@@ -0,0 +1,85 @@
+package guichafy.sample_api.user;
+
+import guichafy.sample_api.infrastructure.concurrency.BatchingQueue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingQueueTest {
+
+    @Test
+    void shouldDeliverFullBatchesAndFlushPartialOnesWhenTheWindowExpires() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(3);
+        try (BatchingQueue<Integer> queue = new BatchingQueue<>("test", 100, 2, Duration.ofMillis(50), 1, Duration.ZERO,
+                Executors.newVirtualThreadPerTaskExecutor(), batch -> {
+                    batches.add(List.copyOf(batch));
+                    delivered.countDown();
+                })) {
+            for (int i = 1; i <= 5; i++) {
+                assertTrue(queue.offer(i));
+            }
+
+            assertTrue(delivered.await(2, TimeUnit.SECONDS));
+            assertEquals(List.of(1, 2, 3, 4, 5), batches.stream().flatMap(List::stream).toList());
+            assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2));
+            // O sink libera o latch antes de a entrega ser contada
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (queue.deliveredCount() < 5 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(5, queue.deliveredCount());
+        }
+    }
+
+    @Test
+    void shouldShedEventsWhenFullAndRetryFailedDeliveries() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        BatchingQueue<Integer> queue = new BatchingQueue<>("test", 2, 1, Duration.ZERO, 3, Duration.ofMillis(1),
+                Executors.newVirtualThreadPerTaskExecutor(), batch -> {
+                    awaitQuietly(release);
+                    if (attempts.incrementAndGet() < 3) {
+                        throw new IllegalStateException("sink unavailable");
+                    }
+                });
+
+        // O consumidor segura o primeiro evento; a fila comporta mais dois
+        queue.offer(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (queue.depth() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertEquals(1, queue.droppedCount());
+
+        release.countDown();
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (queue.deliveredCount() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        queue.close();
+
+        assertEquals(3, queue.deliveredCount());
+        assertEquals(0, queue.failedCount());
+        assertEquals(5, attempts.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
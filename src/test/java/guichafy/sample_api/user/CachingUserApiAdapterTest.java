@@ -0,0 +1,115 @@
+package guichafy.sample_api.user;
+
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.Email;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import guichafy.sample_api.infrastructure.adapters.output.CachingUserApiAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingUserApiAdapterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private final Map<UserId, User> upstream = new ConcurrentHashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CachingUserApiAdapter adapter = new CachingUserApiAdapter(
+        new InMemoryUserApiPort(), Duration.ofMinutes(5), Duration.ofSeconds(30), 100);
+
+    @Test
+    void shouldCacheFoundAndMissingUsersSeparately() {
+        upstream.put(UserId.of("1"), user("1"));
+
+        assertTrue(adapter.findUserById(UserId.of("1")).isPresent());
+        assertTrue(adapter.findUserById(UserId.of("1")).isPresent());
+        assertTrue(adapter.findUserById(UserId.of("404")).isEmpty());
+        assertTrue(adapter.findUserById(UserId.of("404")).isEmpty());
+        assertTrue(adapter.findUserById(UserId.of("404")).isEmpty());
+
+        assertEquals(2, lookups.get());
+        assertEquals(2, adapter.missCount());
+        assertEquals(1, adapter.hitCount());
+        assertEquals(2, adapter.negativeHitCount());
+    }
+
+    @Test
+    void shouldInvalidateNegativeEntryWhenTheUserIsSaved() {
+        assertTrue(adapter.findUserById(UserId.of("7")).isEmpty());
+
+        adapter.saveUser(user("7"));
+
+        assertEquals("user7@example.com", adapter.findUserById(UserId.of("7")).orElseThrow().email().value());
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void shouldNotCacheUpstreamFailures() {
+        assertThrows(IllegalStateException.class, () -> adapter.findUserById(UserId.of("boom")));
+        assertThrows(IllegalStateException.class, () -> adapter.findUserById(UserId.of("boom")));
+
+        assertEquals(2, lookups.get());
+    }
+
+    private static User user(String id) {
+        return new User(UserId.of(id), "User " + id, Email.of("user" + id + "@example.com"), NOW, NOW);
+    }
+
+    private class InMemoryUserApiPort implements UserApiPort {
+
+        @Override
+        public Optional<User> findUserById(UserId userId) {
+            lookups.incrementAndGet();
+            if (userId.value().equals("boom")) {
+                throw new IllegalStateException("upstream unavailable");
+            }
+            return Optional.ofNullable(upstream.get(userId));
+        }
+
+        @Override
+        public User saveUser(User user) {
+            upstream.put(user.id(), user);
+            return user;
+        }
+
+        @Override
+        public List<User> saveUsers(List<User> users) {
+            users.forEach(this::saveUser);
+            return users;
+        }
+
+        @Override
+        public void notifyUserCreated(User user) {
+        }
+
+        @Override
+        public void notifyUsersCreated(List<User> users) {
+        }
+
+        @Override
+        public boolean emailExists(String email) {
+            return false;
+        }
+
+        @Override
+        public Set<String> findExistingEmails(Collection<String> emails) {
+            return Set.of();
+        }
+
+        @Override
+        public List<String> findEmails(int offset, int limit) {
+            return List.of();
+        }
+    }
+}
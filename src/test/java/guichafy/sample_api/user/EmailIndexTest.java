@@ -0,0 +1,97 @@
+package guichafy.sample_api.user;
+
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import guichafy.sample_api.infrastructure.catalog.EmailIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailIndexTest {
+
+    private final List<String> upstreamEmails = new ArrayList<>(List.of("Sincere@april.biz", "Shanna@melissa.tv", "Nathan@yesenia.net"));
+    private final List<Integer> requestedOffsets = new ArrayList<>();
+
+    @Test
+    void shouldLoadOnceAndThenFetchOnlyNewUsers() {
+        EmailIndex index = new EmailIndex(new EmailPagesPort(), 2, 10);
+        assertFalse(index.isLoaded());
+
+        index.refresh();
+
+        assertTrue(index.isLoaded());
+        assertEquals(List.of(0, 2), requestedOffsets);
+        assertTrue(index.contains("sincere@april.biz"));
+        assertTrue(index.contains("  NATHAN@yesenia.net "));
+        assertFalse(index.contains("new@example.com"));
+
+        upstreamEmails.add("Julianne.OConner@kory.org");
+        requestedOffsets.clear();
+        index.refresh();
+
+        assertEquals(List.of(3), requestedOffsets);
+        assertTrue(index.contains("julianne.oconner@kory.org"));
+    }
+
+    @Test
+    void shouldKeepAnsweringAfterOutgrowingTheBloomFilter() {
+        EmailIndex index = new EmailIndex(new EmailPagesPort(), 100, 4);
+        for (int i = 0; i < 1_000; i++) {
+            index.add("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(index.contains("USER" + i + "@example.com"));
+        }
+        assertFalse(index.contains("user1000@example.com"));
+    }
+
+    private class EmailPagesPort implements UserApiPort {
+
+        @Override
+        public List<String> findEmails(int offset, int limit) {
+            requestedOffsets.add(offset);
+            return List.copyOf(upstreamEmails.subList(Math.min(offset, upstreamEmails.size()), Math.min(offset + limit, upstreamEmails.size())));
+        }
+
+        @Override
+        public Optional<User> findUserById(UserId userId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public User saveUser(User user) {
+            return user;
+        }
+
+        @Override
+        public void notifyUserCreated(User user) {
+        }
+
+        @Override
+        public boolean emailExists(String email) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<String> findExistingEmails(Collection<String> emails) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> saveUsers(List<User> users) {
+            return users;
+        }
+
+        @Override
+        public void notifyUsersCreated(List<User> users) {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package guichafy.sample_api.user;
+
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.Email;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import guichafy.sample_api.infrastructure.storage.UserLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLogTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverIndexFromLogAndDropTornTail() throws Exception {
+        Path path = directory.resolve("users.log");
+        try (UserLog log = new UserLog(path)) {
+            log.append(user("1", "Ana", "ana@example.com"));
+            log.appendAll(List.of(user("2", "Bruno", "bruno@example.com"), user("1", "Ana Maria", "ana@example.com")));
+        }
+        long validBytes = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            // Registro interrompido no meio: cabeçalho sem o payload completo
+            channel.write(ByteBuffer.allocate(12).putInt(64).putInt(0).putInt(7).flip());
+        }
+
+        try (UserLog log = new UserLog(path)) {
+            assertEquals(2, log.size());
+            assertEquals(user("1", "Ana Maria", "ana@example.com"), log.find(UserId.of("1")).orElseThrow());
+            assertEquals("bruno@example.com", log.find(UserId.of("2")).orElseThrow().email().value());
+            assertTrue(log.find(UserId.of("3")).isEmpty());
+            assertEquals(Set.of("ana@example.com", "bruno@example.com"), Set.copyOf(log.recoveredEmails()));
+            assertEquals(validBytes, Files.size(path));
+        }
+    }
+
+    @Test
+    void shouldRefuseToTruncateWhenValidRecordsFollowACorruptOne() throws Exception {
+        Path path = directory.resolve("users.log");
+        try (UserLog log = new UserLog(path)) {
+            log.append(user("1", "Ana", "ana@example.com"));
+            log.append(user("2", "Bruno", "bruno@example.com"));
+        }
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // Um byte trocado no payload do primeiro registro invalida só o checksum dele
+            channel.write(ByteBuffer.wrap(new byte[] {'#'}), 12);
+        }
+
+        UncheckedIOException error = assertThrows(UncheckedIOException.class, () -> new UserLog(path));
+        assertTrue(error.getCause().getMessage().contains("corrupted at offset 0"));
+        assertEquals(size, Files.size(path));
+    }
+
+    @Test
+    void shouldCompactToLiveRecordsAndKeepAppending() throws Exception {
+        Path path = directory.resolve("users.log");
+        try (UserLog log = new UserLog(path)) {
+            for (int version = 0; version < 10; version++) {
+                log.append(user("1", "Ana " + version, "ana@example.com"));
+            }
+            log.append(user("2", "Bruno", "bruno@example.com"));
+            assertTrue(log.garbageRatio() > 0.5);
+
+            log.compactIfNeeded();
+
+            assertEquals(0, log.garbageRatio());
+            assertEquals("Ana 9", log.find(UserId.of("1")).orElseThrow().name());
+            assertFalse(Files.exists(directory.resolve("users.log.compact")));
+            log.append(user("3", "Carla", "carla@example.com"));
+        }
+
+        try (UserLog log = new UserLog(path)) {
+            assertEquals(3, log.size());
+            assertEquals("Ana 9", log.find(UserId.of("1")).orElseThrow().name());
+            assertEquals("Carla", log.find(UserId.of("3")).orElseThrow().name());
+        }
+    }
+
+    @Test
+    void shouldPersistEveryRecordFromConcurrentWriters() throws Exception {
+        Path path = directory.resolve("users.log");
+        try (UserLog log = new UserLog(path); ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> writes = IntStream.range(0, 500)
+                .<Future<?>>mapToObj(i -> executor.submit(() -> log.append(user(String.valueOf(i), "User " + i, "user" + i + "@example.com"))))
+                .toList();
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        }
+
+        try (UserLog log = new UserLog(path)) {
+            assertEquals(500, log.size());
+            assertEquals("User 499", log.find(UserId.of("499")).orElseThrow().name());
+        }
+    }
+
+    private static User user(String id, String name, String email) {
+        return new User(UserId.of(id), name, Email.of(email), NOW, NOW);
+    }
+}
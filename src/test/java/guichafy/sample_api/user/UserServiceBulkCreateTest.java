@@ -0,0 +1,117 @@
+package guichafy.sample_api.user;
+
+import guichafy.sample_api.application.ports.input.CreateUserCommand;
+import guichafy.sample_api.application.ports.input.CreateUserResult;
+import guichafy.sample_api.application.ports.output.UserApiPort;
+import guichafy.sample_api.application.usecases.UserService;
+import guichafy.sample_api.domain.entities.User;
+import guichafy.sample_api.domain.valueobjects.UserId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserServiceBulkCreateTest {
+
+    private final List<Collection<String>> existenceChecks = new ArrayList<>();
+    private final List<Integer> savedChunkSizes = new ArrayList<>();
+    private final List<Integer> notifiedChunkSizes = new ArrayList<>();
+    private boolean failNotifications;
+
+    @Test
+    void shouldCheckDuplicatesOnceAndSaveInChunks() {
+        UserService service = new UserService(new RecordingUserApiPort(), 2);
+
+        List<CreateUserResult> results = service.createUsers(List.of(
+            new CreateUserCommand("Ana", "ana@example.com"),
+            new CreateUserCommand("Bruno", "not-an-email"),
+            new CreateUserCommand("Ana again", "ANA@example.com"),
+            new CreateUserCommand("Carla", "sincere@april.biz"),
+            new CreateUserCommand("Davi", "davi@example.com"),
+            new CreateUserCommand("", "empty-name@example.com"),
+            new CreateUserCommand("Eva", "eva@example.com")
+        ));
+
+        assertEquals(7, results.size());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), results.stream().map(CreateUserResult::index).toList());
+        assertEquals(List.of(true, false, false, false, true, false, true), results.stream().map(CreateUserResult::isCreated).toList());
+        assertEquals("Invalid email format", results.get(1).error());
+        assertEquals("Duplicate email in batch", results.get(2).error());
+        assertEquals("User with email already exists", results.get(3).error());
+        assertEquals("Name cannot be null or empty", results.get(5).error());
+        assertEquals("eva@example.com", results.get(6).user().email().value());
+
+        assertEquals(1, existenceChecks.size());
+        assertEquals(Set.of("ana@example.com", "sincere@april.biz", "davi@example.com", "eva@example.com"), Set.copyOf(existenceChecks.get(0)));
+        assertEquals(List.of(2, 1), savedChunkSizes);
+        assertEquals(List.of(2, 1), notifiedChunkSizes);
+    }
+
+    @Test
+    void shouldKeepSavedUsersCreatedWhenTheNotificationFails() {
+        failNotifications = true;
+        UserService service = new UserService(new RecordingUserApiPort(), 2);
+
+        List<CreateUserResult> results = service.createUsers(List.of(
+            new CreateUserCommand("Ana", "ana@example.com"),
+            new CreateUserCommand("Davi", "davi@example.com"),
+            new CreateUserCommand("Eva", "eva@example.com")
+        ));
+
+        assertEquals(List.of(true, true, true), results.stream().map(CreateUserResult::isCreated).toList());
+        assertEquals(List.of(2, 1), notifiedChunkSizes);
+    }
+
+    private class RecordingUserApiPort implements UserApiPort {
+
+        @Override
+        public Set<String> findExistingEmails(Collection<String> emails) {
+            existenceChecks.add(List.copyOf(emails));
+            return emails.contains("sincere@april.biz") ? Set.of("sincere@april.biz") : Set.of();
+        }
+
+        @Override
+        public List<User> saveUsers(List<User> users) {
+            savedChunkSizes.add(users.size());
+            return users;
+        }
+
+        @Override
+        public void notifyUsersCreated(List<User> users) {
+            notifiedChunkSizes.add(users.size());
+            if (failNotifications) {
+                throw new IllegalStateException("notification service unavailable");
+            }
+        }
+
+        @Override
+        public Optional<User> findUserById(UserId userId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public User saveUser(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void notifyUserCreated(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean emailExists(String email) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> findEmails(int offset, int limit) {
+            return List.of();
+        }
+    }
+}